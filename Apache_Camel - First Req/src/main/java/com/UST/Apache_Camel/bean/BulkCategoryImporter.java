@@ -0,0 +1,130 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.model.BulkImportResponse;
+import com.UST.Apache_Camel.model.BulkImportResult;
+import com.UST.Apache_Camel.model.Category;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * POST /mycart/category/bulk: validates an array of categories, checks which
+ * ids already exist with one $in query and inserts the rest with one unordered
+ * insertMany. The category cache is refreshed once after the insert.
+ */
+@Component
+public class BulkCategoryImporter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkCategoryImporter.class);
+
+    private final MongoClient mongoClient;
+    private final CategoryCache categoryCache;
+
+    public BulkCategoryImporter(MongoClient mongoClient, CategoryCache categoryCache) {
+        this.mongoClient = mongoClient;
+        this.categoryCache = categoryCache;
+    }
+
+    public void importCategories(Exchange exchange) {
+        Category[] categories = exchange.getIn().getBody(Category[].class);
+        if (categories == null || categories.length == 0) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+            exchange.getIn().setBody(Map.of("message", "Request body must be a non-empty array of categories"));
+            return;
+        }
+
+        BulkImportResponse report = new BulkImportResponse();
+        List<Integer> candidateLines = new ArrayList<>();
+        List<Category> candidates = new ArrayList<>();
+        Set<String> requestIds = new HashSet<>();
+        for (int i = 0; i < categories.length; i++) {
+            Category category = categories[i];
+            int line = i + 1;
+            try {
+                PostNewCategoryBean.validate(category);
+            } catch (IllegalArgumentException e) {
+                report.add(error(line, category != null ? category.getId() : null, e.getMessage()));
+                continue;
+            }
+            if (!requestIds.add(category.getId())) {
+                report.add(error(line, category.getId(), "Duplicate category id in request"));
+                continue;
+            }
+            candidateLines.add(line);
+            candidates.add(category);
+        }
+
+        MongoCollection<Document> collection = mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_CATEGORY_WRITE_COLLECTION);
+        Set<String> existingIds = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            for (Document existing : collection.find(Filters.in("_id", requestIds)).projection(Projections.include("_id"))) {
+                existingIds.add(existing.getString("_id"));
+            }
+        }
+
+        List<Integer> insertLines = new ArrayList<>();
+        List<Category> inserts = new ArrayList<>();
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Category category = candidates.get(i);
+            if (existingIds.contains(category.getId())) {
+                report.add(error(candidateLines.get(i), category.getId(), ApplicationConstants.ERROR_CATEGORY_ALREADY_EXISTS));
+            } else {
+                insertLines.add(candidateLines.get(i));
+                inserts.add(category);
+                documents.add(PostNewCategoryBean.toDocument(category));
+            }
+        }
+
+        Map<Integer, String> failures = new HashMap<>();
+        if (!documents.isEmpty()) {
+            try {
+                collection.insertMany(documents, new InsertManyOptions().ordered(false));
+            } catch (MongoBulkWriteException e) {
+                // A concurrent create can still win between the $in check and the insert
+                for (BulkWriteError writeError : e.getWriteErrors()) {
+                    failures.put(writeError.getIndex(), writeError.getCode() == ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR
+                            ? ApplicationConstants.ERROR_CATEGORY_ALREADY_EXISTS : writeError.getMessage());
+                }
+            }
+        }
+        for (int i = 0; i < inserts.size(); i++) {
+            String failure = failures.get(i);
+            report.add(failure != null
+                    ? error(insertLines.get(i), inserts.get(i).getId(), failure)
+                    : new BulkImportResult(insertLines.get(i), inserts.get(i).getId(), BulkImportResult.STATUS_CREATED, null));
+        }
+
+        if (report.getCreated() > 0) {
+            categoryCache.refresh();
+        }
+        report.getResults().sort(Comparator.comparingInt(BulkImportResult::getLine));
+        exchange.getIn().setBody(report);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Bulk category import: {} received, {} created, {} failed",
+                report.getReceived(), report.getCreated(), report.getFailed());
+    }
+
+    private static BulkImportResult error(int line, String id, String message) {
+        return new BulkImportResult(line, id, BulkImportResult.STATUS_ERROR, message);
+    }
+}
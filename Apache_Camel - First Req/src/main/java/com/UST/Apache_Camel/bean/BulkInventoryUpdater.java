@@ -0,0 +1,287 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.ItemResponseCache;
+import com.UST.Apache_Camel.cache.ResponseBytesCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.exception.InventoryValidationException;
+import com.UST.Apache_Camel.model.ItemResult;
+import com.UST.Apache_Camel.projection.CategoryStatsRollup;
+import com.UST.Apache_Camel.projection.ItemViewProjector;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk engine for updateInventoryRoute: instead of findById, Java-side
+ * arithmetic and a full save per item, the entries of a payload are sent as
+ * one unordered bulkWrite with one updateOne per item. Each update checks and
+ * decrements the stock in a single server-side operation:
+ * <pre>
+ * {_id} -> [{$set: {stockDetails.availableStock:
+ *              {$cond: [availableStock is a number and >= reduction, availableStock - reduction, fail]}}}]
+ * </pre>
+ * BulkWriteResult only carries totals, so an update whose stock check fails
+ * is made to fail with STOCK_CHECK_FAILED at its own op index instead of
+ * silently matching nothing. Op indexes map back to payload lines, and one
+ * $in read of the post-images afterwards tells an applied update (no error,
+ * item present) from a missing item and explains failed stock checks. No
+ * tracking state is written to the items. An itemId listed twice is spread
+ * over consecutive bulk writes; after InventoryCoalescingBean there is one.
+ * <p>
+ * Two such decrements cannot lose each other, but the per-item split engine
+ * and Second Req's queue consumer still write the whole document with save,
+ * and a save built from an older read overwrites a concurrent update. Stock
+ * updates are only free of lost updates when every writer goes through this
+ * engine.
+ */
+@Component
+public class BulkInventoryUpdater {
+    private static final Logger logger = LoggerFactory.getLogger(BulkInventoryUpdater.class);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String AVAILABLE_STOCK = "$stockDetails.availableStock";
+    // ConversionFailure raised on purpose by an update whose stock check fails
+    static final int STOCK_CHECK_FAILED = 241;
+
+    private final MongoClient mongoClient;
+    private final ItemResponseCache itemResponseCache;
+    private final ResponseBytesCache responseBytesCache;
+    private final ItemViewProjector itemViewProjector;
+    private final CategoryStatsRollup categoryStatsRollup;
+
+    public BulkInventoryUpdater(MongoClient mongoClient, ItemResponseCache itemResponseCache,
+                                ResponseBytesCache responseBytesCache, ItemViewProjector itemViewProjector,
+                                CategoryStatsRollup categoryStatsRollup) {
+        this.mongoClient = mongoClient;
+        this.itemResponseCache = itemResponseCache;
+        this.responseBytesCache = responseBytesCache;
+        this.itemViewProjector = itemViewProjector;
+        this.categoryStatsRollup = categoryStatsRollup;
+    }
+
+    /**
+     * Expects the inventoryList and itemResults properties set by
+     * PayloadValidationProcessor and appends one ItemResult per entry, in
+     * payload order.
+     */
+    public void applyUpdates(Exchange exchange) {
+        List<?> entries = exchange.getProperty("inventoryList", List.class);
+        List<ItemResult> itemResults = exchange.getProperty("itemResults", List.class);
+        ItemResult[] results = new ItemResult[entries.size()];
+
+        List<List<StockUpdate>> rounds = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Map<String, Object> entry = (Map<String, Object>) entries.get(i);
+            try {
+                // Validates _id before it is read
+                int stockReduction = ItemBean.stockReduction(entry);
+                String itemId = entry.get("_id").toString();
+                int round = occurrences.merge(itemId, 1, Integer::sum) - 1;
+                if (round == rounds.size()) {
+                    rounds.add(new ArrayList<>());
+                }
+                rounds.get(round).add(new StockUpdate(i, itemId, stockReduction));
+            } catch (InventoryValidationException e) {
+                Object itemId = entry != null ? entry.get("_id") : null;
+                results[i] = failure(itemId != null ? itemId.toString() : null, e.getMessage());
+            }
+        }
+
+        MongoCollection<Document> collection = mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION);
+        for (List<StockUpdate> round : rounds) {
+            applyRound(collection, round, results);
+        }
+        for (ItemResult result : results) {
+            itemResults.add(result);
+        }
+        exchange.setProperty("itemResults", itemResults);
+        logger.info("Bulk inventory update of {} entries in {} bulk writes", entries.size(), rounds.size());
+    }
+
+    private void applyRound(MongoCollection<Document> collection, List<StockUpdate> updates, ItemResult[] results) {
+        String lastUpdateDate = LocalDateTime.now().format(DATE_TIME_FORMATTER);
+        List<WriteModel<Document>> writes = new ArrayList<>(updates.size());
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (StockUpdate update : updates) {
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", update.itemId),
+                    stockUpdate(update.stockReduction, lastUpdateDate)));
+            itemIds.add(update.itemId);
+        }
+
+        BulkWriteResult writeResult;
+        Map<Integer, BulkWriteError> writeErrors = new HashMap<>();
+        try {
+            writeResult = collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            writeResult = e.getWriteResult();
+            for (BulkWriteError writeError : e.getWriteErrors()) {
+                writeErrors.put(writeError.getIndex(), writeError);
+            }
+        } catch (MongoException e) {
+            logger.error("Bulk inventory update of {} items failed: {}", updates.size(), e.getMessage());
+            for (StockUpdate update : updates) {
+                results[update.line] = failure(update.itemId, e.getMessage());
+            }
+            return;
+        }
+
+        // Post-images for item_view and category_stats, and the current stock of failed checks
+        Map<String, Document> itemDocs = new HashMap<>();
+        String readError = null;
+        try {
+            for (Document itemDoc : collection.find(Filters.in("_id", itemIds))) {
+                itemDocs.put(String.valueOf(itemDoc.get("_id")), itemDoc);
+            }
+        } catch (MongoException e) {
+            readError = e.getMessage();
+            logger.error("Failed to read {} updated inventory items: {}", itemIds.size(), readError);
+        }
+        // Without post-images an update without error is known to be applied only when all of them matched
+        boolean allApplied = writeResult.getMatchedCount() == updates.size() - writeErrors.size();
+
+        Map<String, Document> updatedDocs = new LinkedHashMap<>();
+        Map<String, Integer> stockDeltas = new HashMap<>();
+        int applied = 0;
+        for (int i = 0; i < updates.size(); i++) {
+            StockUpdate update = updates.get(i);
+            Document itemDoc = itemDocs.get(update.itemId);
+            BulkWriteError writeError = writeErrors.get(i);
+            if (writeError != null) {
+                results[update.line] = failure(update.itemId, writeError.getCode() == STOCK_CHECK_FAILED
+                        ? stockCheckFailure(update, itemDoc) : writeError.getMessage());
+            } else if (itemDoc != null) {
+                applied++;
+                results[update.line] = success(update.itemId);
+                updatedDocs.put(update.itemId, itemDoc);
+                stockDeltas.put(update.itemId, -update.stockReduction);
+            } else if (readError == null) {
+                results[update.line] = failure(update.itemId, unmatchedReason(update.itemId, update.stockReduction, null));
+            } else if (allApplied) {
+                applied++;
+                results[update.line] = success(update.itemId);
+                itemResponseCache.invalidate(update.itemId);
+            } else {
+                results[update.line] = failure(update.itemId, readError);
+            }
+        }
+        if (readError == null && applied != writeResult.getMatchedCount()) {
+            // An item created or deleted between the bulkWrite and the read
+            logger.warn("Bulk inventory update matched {} items but {} were reported applied",
+                    writeResult.getMatchedCount(), applied);
+        }
+        applySideEffects(itemIds, updatedDocs, stockDeltas);
+        logger.debug("Bulk write of {} inventory updates, {} matched", writes.size(), writeResult.getMatchedCount());
+    }
+
+    private static String stockCheckFailure(StockUpdate update, Document itemDoc) {
+        if (itemDoc == null) {
+            return "Requested stock reduction (" + update.stockReduction + ") exceeds available stock for item ID: "
+                    + update.itemId;
+        }
+        return unmatchedReason(update.itemId, update.stockReduction, itemDoc);
+    }
+
+    /**
+     * Update pipeline that decrements availableStock when it is a number of at
+     * least stockReduction, and otherwise fails with STOCK_CHECK_FAILED without
+     * writing anything.
+     */
+    static List<Bson> stockUpdate(int stockReduction, String lastUpdateDate) {
+        Document hasStock = new Document("$and", List.of(
+                new Document("$isNumber", AVAILABLE_STOCK),
+                new Document("$gte", List.of(AVAILABLE_STOCK, stockReduction))));
+        Document availableStock = new Document("$cond", List.of(hasStock,
+                new Document("$subtract", List.of(AVAILABLE_STOCK, stockReduction)),
+                // Depends on the document, so the server cannot evaluate it once for all updates
+                new Document("$toInt", new Document("$concat", List.of("insufficient stock for ",
+                        new Document("$toString", "$_id"))))));
+        return List.of(new Document("$set", new Document("stockDetails.availableStock", availableStock)
+                .append("lastUpdateDate", new Document("$literal", lastUpdateDate))));
+    }
+
+    private void applySideEffects(Set<String> itemIds, Map<String, Document> updatedDocs, Map<String, Integer> stockDeltas) {
+        Set<String> categoryIds = new LinkedHashSet<>();
+        for (Document itemDoc : updatedDocs.values()) {
+            if (itemDoc.getString("categoryId") != null) {
+                categoryIds.add(itemDoc.getString("categoryId"));
+            }
+        }
+        updatedDocs.keySet().forEach(itemResponseCache::invalidate);
+        responseBytesCache.invalidateItems(itemIds, categoryIds);
+        if (updatedDocs.isEmpty()) {
+            return;
+        }
+        List<Document> docs = new ArrayList<>(updatedDocs.values());
+        itemViewProjector.projectItems(docs);
+        categoryStatsRollup.applyStockChanges(docs, stockDeltas);
+    }
+
+    /**
+     * Same messages as ItemBean.validateAndUpdateItem for an update that was
+     * not applied; itemDoc is the current document or null.
+     */
+    static String unmatchedReason(String itemId, int stockReduction, Document itemDoc) {
+        if (itemDoc == null) {
+            return "Item not found for ID: " + itemId;
+        }
+        Document stockDetails = itemDoc.get("stockDetails", Document.class);
+        if (stockDetails == null) {
+            return "Missing stockDetails in DB for item: " + itemId;
+        }
+        Object availableStock = stockDetails.get("availableStock");
+        if (!(availableStock instanceof Integer)) {
+            return "availableStock must be an integer for item: " + itemId;
+        }
+        if ((Integer) availableStock < 0) {
+            return "availableStock cannot be negative for item: " + itemId;
+        }
+        return "Requested stock reduction (" + stockReduction + ") exceeds available stock ("
+                + availableStock + ") for item ID: " + itemId;
+    }
+
+    private static ItemResult success(String itemId) {
+        return new ItemResult(itemId, "success", "Inventory updated successfully for item " + itemId);
+    }
+
+    private static ItemResult failure(String itemId, String message) {
+        logger.warn("Inventory update failed for item {}: {}", itemId, message);
+        return new ItemResult(itemId, "error", message);
+    }
+
+    private static final class StockUpdate {
+        private final int line;
+        private final String itemId;
+        private final int stockReduction;
+
+        private StockUpdate(int line, String itemId, int stockReduction) {
+            this.line = line;
+            this.itemId = itemId;
+            this.stockReduction = stockReduction;
+        }
+    }
+}
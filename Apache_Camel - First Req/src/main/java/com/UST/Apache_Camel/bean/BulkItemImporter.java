@@ -0,0 +1,265 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.cache.ResponseBytesCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.exception.InventoryValidationException;
+import com.UST.Apache_Camel.model.BulkImportResponse;
+import com.UST.Apache_Camel.model.BulkImportResult;
+import com.UST.Apache_Camel.model.Item;
+import com.UST.Apache_Camel.projection.CategoryStatsRollup;
+import com.UST.Apache_Camel.projection.ItemViewProjector;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.InsertManyOptions;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * POST /mycart/items/bulk: reads NDJSON or a JSON array of items from the
+ * request stream, applies the PostNewItemBean validation to each record and
+ * inserts them with unordered insertMany batches. Categories of a batch are
+ * resolved with one CategoryCache lookup, and duplicate keys are reported per
+ * record as already existing instead of being checked up front. A batch that
+ * fails as a whole is reported as errors on its own records and the import
+ * carries on with the next batch.
+ */
+@Component
+public class BulkItemImporter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkItemImporter.class);
+
+    private final MongoClient mongoClient;
+    private final CategoryCache categoryCache;
+    private final ResponseBytesCache responseBytesCache;
+    private final ItemViewProjector itemViewProjector;
+    private final CategoryStatsRollup categoryStatsRollup;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public BulkItemImporter(MongoClient mongoClient, CategoryCache categoryCache, ResponseBytesCache responseBytesCache,
+                            ItemViewProjector itemViewProjector, CategoryStatsRollup categoryStatsRollup,
+                            ObjectMapper objectMapper, @Value("${app.bulk.batchSize:1000}") int batchSize) {
+        this.mongoClient = mongoClient;
+        this.categoryCache = categoryCache;
+        this.responseBytesCache = responseBytesCache;
+        this.itemViewProjector = itemViewProjector;
+        this.categoryStatsRollup = categoryStatsRollup;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void importItems(Exchange exchange) throws IOException {
+        InputStream body = exchange.getIn().getBody(InputStream.class);
+        BulkImportResponse report = new BulkImportResponse();
+        Set<String> touchedCategories = new HashSet<>();
+        List<PendingItem> batch = new ArrayList<>(batchSize);
+
+        if (body != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                if (firstNonWhitespace(reader) == '[') {
+                    readArray(reader, batch, report, touchedCategories);
+                } else {
+                    readLines(reader, batch, report, touchedCategories);
+                }
+            }
+            flush(batch, report, touchedCategories);
+        }
+
+        if (report.getReceived() == 0) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+            exchange.getIn().setBody(Map.of("message", "Request body must contain NDJSON or a JSON array of items"));
+            return;
+        }
+
+        // New ids cannot be cached yet, only the listings of their categories are stale
+        touchedCategories.forEach(responseBytesCache::invalidateCategory);
+        report.getResults().sort(Comparator.comparingInt(BulkImportResult::getLine));
+        exchange.getIn().setBody(report);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Bulk item import: {} received, {} created, {} failed",
+                report.getReceived(), report.getCreated(), report.getFailed());
+    }
+
+    private void readLines(BufferedReader reader, List<PendingItem> batch, BulkImportResponse report,
+                           Set<String> touchedCategories) throws IOException {
+        int line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            Item item;
+            try {
+                item = objectMapper.readValue(json, Item.class);
+            } catch (JsonProcessingException e) {
+                report.add(error(line, null, "Malformed item: " + e.getOriginalMessage()));
+                continue;
+            }
+            accept(line, item, batch, report, touchedCategories);
+        }
+    }
+
+    private void readArray(BufferedReader reader, List<PendingItem> batch, BulkImportResponse report,
+                           Set<String> touchedCategories) throws IOException {
+        int element = 0;
+        try (MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(reader)) {
+            while (nodes.hasNextValue()) {
+                JsonNode node = nodes.nextValue();
+                element++;
+                Item item;
+                try {
+                    item = objectMapper.treeToValue(node, Item.class);
+                } catch (JsonProcessingException e) {
+                    report.add(error(element, node.path("_id").asText(null), "Malformed item: " + e.getOriginalMessage()));
+                    continue;
+                }
+                accept(element, item, batch, report, touchedCategories);
+            }
+        } catch (JsonProcessingException e) {
+            // A syntax error ends the array, everything read before it is still imported
+            report.add(error(element + 1, null, "Malformed JSON array: " + e.getOriginalMessage()));
+        }
+    }
+
+    private void accept(int line, Item item, List<PendingItem> batch, BulkImportResponse report,
+                        Set<String> touchedCategories) {
+        try {
+            PostNewItemBean.validate(item);
+        } catch (InventoryValidationException e) {
+            report.add(error(line, item != null ? item.getId() : null, e.getMessage()));
+            return;
+        }
+        batch.add(new PendingItem(line, item));
+        if (batch.size() >= batchSize) {
+            flush(batch, report, touchedCategories);
+        }
+    }
+
+    private void flush(List<PendingItem> batch, BulkImportResponse report, Set<String> touchedCategories) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> categoryIds = new LinkedHashSet<>();
+        for (PendingItem pending : batch) {
+            categoryIds.add(pending.item.getCategoryId());
+        }
+        Map<String, Document> categories;
+        try {
+            categories = categoryCache.getAll(categoryIds);
+        } catch (MongoException e) {
+            failBatch(batch, report, e);
+            batch.clear();
+            return;
+        }
+
+        List<PendingItem> insertable = new ArrayList<>(batch.size());
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (PendingItem pending : batch) {
+            if (categories.get(pending.item.getCategoryId()) == null) {
+                report.add(error(pending.line, pending.item.getId(), ApplicationConstants.ERROR_CATEGORY_NOT_FOUND));
+                continue;
+            }
+            pending.item.setLastUpdateDate(LocalDateTime.now());
+            insertable.add(pending);
+            documents.add(PostNewItemBean.toDocument(pending.item));
+        }
+        batch.clear();
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failures = new HashMap<>();
+        try {
+            mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                    .getCollection(ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Unordered: every document without a write error was inserted
+            for (BulkWriteError writeError : e.getWriteErrors()) {
+                failures.put(writeError.getIndex(), writeError.getCode() == ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR
+                        ? ApplicationConstants.ERROR_ITEM_ALREADY_EXISTS : writeError.getMessage());
+            }
+        } catch (MongoException e) {
+            // Some documents may have been written, their category listings can no longer be trusted
+            insertable.forEach(pending -> touchedCategories.add(pending.item.getCategoryId()));
+            failBatch(insertable, report, e);
+            return;
+        }
+
+        List<Item> createdItems = new ArrayList<>(documents.size());
+        List<Document> createdDocuments = new ArrayList<>(documents.size());
+        for (int i = 0; i < insertable.size(); i++) {
+            PendingItem pending = insertable.get(i);
+            String failure = failures.get(i);
+            if (failure != null) {
+                report.add(error(pending.line, pending.item.getId(), failure));
+            } else {
+                report.add(new BulkImportResult(pending.line, pending.item.getId(), BulkImportResult.STATUS_CREATED, null));
+                createdItems.add(pending.item);
+                createdDocuments.add(documents.get(i));
+                touchedCategories.add(pending.item.getCategoryId());
+            }
+        }
+        itemViewProjector.projectItems(createdDocuments);
+        categoryStatsRollup.applyInsertedItems(createdItems);
+        logger.debug("Bulk item batch: {} inserted, {} failed", createdItems.size(), failures.size());
+    }
+
+    private static void failBatch(List<PendingItem> batch, BulkImportResponse report, MongoException e) {
+        logger.error("Bulk item batch of {} records failed: {}", batch.size(), e.getMessage());
+        for (PendingItem pending : batch) {
+            report.add(error(pending.line, pending.item.getId(), "Batch insert failed: " + e.getMessage()));
+        }
+    }
+
+    private static BulkImportResult error(int line, String id, String message) {
+        return new BulkImportResult(line, id, BulkImportResult.STATUS_ERROR, message);
+    }
+
+    private static int firstNonWhitespace(BufferedReader reader) throws IOException {
+        while (true) {
+            reader.mark(1);
+            int c = reader.read();
+            if (c == -1 || !Character.isWhitespace(c)) {
+                reader.reset();
+                return c;
+            }
+        }
+    }
+
+    private static final class PendingItem {
+        private final int line;
+        private final Item item;
+
+        private PendingItem(int line, Item item) {
+            this.line = line;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import com.UST.Apache_Camel.model.ItemResponseCat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams a whole category straight from a Mongo cursor to the HTTP response,
+ * either as one JSON document or as NDJSON (one item per line). Items are
+ * decoded by ItemResponseCatCodec and serialized one at a time as the servlet
+ * reads the body, so heap use and time to first byte do not depend on the
+ * category size.
+ */
+@Component
+public class CategoryItemsStreamBean {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryItemsStreamBean.class);
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    public static final String CONTENT_TYPE_JSON = "application/json";
+
+    private final MongoClient mongoClient;
+    private final CategoryCache categoryCache;
+    private final ObjectMapper objectMapper;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+
+    public CategoryItemsStreamBean(ReadMongoClient readMongoClient, CategoryCache categoryCache, ObjectMapper objectMapper,
+                                   @Value("${app.stream.batchSize:500}") int defaultBatchSize,
+                                   @Value("${app.stream.maxBatchSize:5000}") int maxBatchSize) {
+        this.mongoClient = readMongoClient.client();
+        this.categoryCache = categoryCache;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.defaultBatchSize = Math.min(Math.max(1, defaultBatchSize), this.maxBatchSize);
+    }
+
+    public void openStream(Exchange exchange) throws IOException {
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+        boolean includeSpecial = Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class));
+        boolean ndjson = FORMAT_NDJSON.equalsIgnoreCase(exchange.getIn().getHeader("format", String.class));
+        String batchSizeParam = exchange.getIn().getHeader("batchSize", String.class);
+        Integer batchSize = batchSizeParam == null || batchSizeParam.isBlank()
+                ? Integer.valueOf(defaultBatchSize) : parseBatchSize(batchSizeParam);
+        if (batchSize == null || batchSize < 1) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+            exchange.getIn().setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+            exchange.getIn().setBody(objectMapper.writeValueAsString(
+                    Map.of("message", "batchSize must be a positive integer")));
+            return;
+        }
+        // Only a cursor tuning hint, so an oversized value is capped instead of rejected
+        batchSize = Math.min(batchSize, maxBatchSize);
+
+        Document categoryDoc = categoryCache.get(categoryId);
+        if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+            exchange.getIn().setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+            exchange.getIn().setBody(objectMapper.writeValueAsString(
+                    Map.of("message", ApplicationConstants.ERROR_CATEGORY_NOT_FOUND)));
+            logger.info("Category not found for categoryId: {}", categoryId);
+            return;
+        }
+
+        Bson filter = includeSpecial
+                ? Filters.eq("categoryId", categoryId)
+                : Filters.and(Filters.eq("categoryId", categoryId), Filters.eq("specialProduct", false));
+        MongoCursor<ItemResponseCat> cursor = mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_READ_COLLECTION)
+                .find(filter, ItemResponseCat.class)
+                .projection(Projections.include("itemName", "categoryId", "itemPrice",
+                        "stockDetails.availableStock", "stockDetails.unitOfMeasure", "specialProduct"))
+                .sort(Sorts.ascending("_id"))
+                .batchSize(batchSize)
+                .iterator();
+
+        String prefix = "";
+        String suffix = "";
+        if (!ndjson) {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("categoryName", categoryDoc.getString("categoryName"));
+            header.put("categoryDepartment", categoryDoc.getString("categoryDep"));
+            String headerJson = objectMapper.writeValueAsString(header);
+            // Reopen the header object so the items array can be streamed into it
+            prefix = headerJson.substring(0, headerJson.length() - 1) + ",\"items\":[";
+            suffix = "]}";
+        }
+
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.getIn().setHeader(Exchange.CONTENT_TYPE, ndjson ? CONTENT_TYPE_NDJSON : CONTENT_TYPE_JSON);
+        exchange.getIn().setBody(new CursorInputStream(cursor, objectMapper, ndjson, prefix, suffix));
+        logger.info("Streaming items for categoryId: {}, format: {}, batchSize: {}",
+                categoryId, ndjson ? FORMAT_NDJSON : "json", batchSize);
+    }
+
+    private static Integer parseBatchSize(String batchSize) {
+        try {
+            return Integer.valueOf(batchSize.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class CursorInputStream extends InputStream {
+        private static final byte[] EMPTY = new byte[0];
+
+        private final MongoCursor<ItemResponseCat> cursor;
+        private final ObjectMapper objectMapper;
+        private final boolean ndjson;
+        private final byte[] suffix;
+
+        private byte[] chunk;
+        private int position;
+        private boolean first = true;
+        private boolean finished;
+
+        private CursorInputStream(MongoCursor<ItemResponseCat> cursor, ObjectMapper objectMapper, boolean ndjson,
+                                  String prefix, String suffix) {
+            this.cursor = cursor;
+            this.objectMapper = objectMapper;
+            this.ndjson = ndjson;
+            this.chunk = prefix.getBytes(StandardCharsets.UTF_8);
+            this.suffix = suffix.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            while (position >= chunk.length) {
+                if (finished) {
+                    return false;
+                }
+                position = 0;
+                chunk = nextChunk();
+            }
+            return true;
+        }
+
+        private byte[] nextChunk() throws IOException {
+            try {
+                if (!cursor.hasNext()) {
+                    finished = true;
+                    cursor.close();
+                    return suffix.length > 0 ? suffix : EMPTY;
+                }
+                String json = objectMapper.writeValueAsString(cursor.next());
+                String separator = ndjson ? "\n" : (first ? "" : ",");
+                first = false;
+                return ndjson ? (json + separator).getBytes(StandardCharsets.UTF_8)
+                        : (separator + json).getBytes(StandardCharsets.UTF_8);
+            } catch (MongoException e) {
+                cursor.close();
+                throw new IOException("Failed to read items from MongoDB cursor", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.UST.Apache_Camel.bean;
 
+import com.UST.Apache_Camel.codec.BsonValues;
 import com.UST.Apache_Camel.config.ApplicationConstants;
 import com.UST.Apache_Camel.model.ItemPrice;
 import com.UST.Apache_Camel.model.ItemResponse;
@@ -9,7 +10,8 @@ import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static java.lang.Boolean.TRUE;
@@ -60,20 +62,91 @@ public class GetItemBean {
             return;
         }
 
-        // Create ItemResponse
+        ItemResponse response = buildItemResponse(itemDoc, categoryDoc.getString("categoryName"));
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG, ItemEtagBean.computeEtag(itemDoc,
+                categoryDoc.getString("categoryName"), categoryDoc.getString("categoryDep")));
+        logger.info("ItemResponse constructed for item ID: {}", response.getId());
+    }
+
+    public void buildItemLookupPipeline(Exchange exchange) {
+        String itemId = exchange.getIn().getHeader("itemId", String.class);
+
+        // Item and its category name in one server-side round trip
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("_id", itemId)));
+        pipeline.add(new Document("$limit", 1));
+        pipeline.add(new Document("$lookup", new Document()
+                .append("from", ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION)
+                .append("localField", "categoryId")
+                .append("foreignField", "_id")
+                .append("as", "categoryDetails")));
+        pipeline.add(new Document("$unwind", new Document()
+                .append("path", "$categoryDetails")
+                .append("preserveNullAndEmptyArrays", true)));
+        pipeline.add(new Document("$project", new Document()
+                .append("itemName", 1)
+                .append("categoryId", 1)
+                .append("itemPrice", 1)
+                .append("stockDetails", 1)
+                .append("specialProduct", 1)
+                .append("lastUpdateDate", 1)
+                .append("categoryName", "$categoryDetails.categoryName")
+                .append("categoryDep", "$categoryDetails.categoryDep")));
+
+        exchange.getIn().setBody(pipeline);
+        logger.debug("Built item lookup pipeline for item ID: {}", itemId);
+    }
+
+    public void processLookupResult(Exchange exchange) {
+        List<?> result = exchange.getIn().getBody(List.class);
+        String itemId = exchange.getIn().getHeader("itemId", String.class);
+
+        if (result == null || result.isEmpty()) {
+            logger.info("Item not found for ID: {}", itemId);
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+            exchange.getIn().setBody(Map.of("message", ApplicationConstants.ERROR_ITEM_NOT_FOUND));
+            return;
+        }
+
+        Document itemDoc = (Document) result.get(0);
+        String categoryName = itemDoc.getString("categoryName");
+        if (categoryName == null) {
+            logger.info("Category not found or missing categoryName for item ID: {}, categoryId: {}",
+                    itemId, itemDoc.getString("categoryId"));
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+            exchange.getIn().setBody(Map.of("message", ApplicationConstants.ERROR_CATEGORY_NOT_FOUND));
+            return;
+        }
+
+        ItemResponse response = buildItemResponse(itemDoc, categoryName);
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG,
+                ItemEtagBean.computeEtag(itemDoc, categoryName, itemDoc.getString("categoryDep")));
+        logger.info("ItemResponse constructed from single lookup for item ID: {}", response.getId());
+    }
+
+    public void processViewResult(Exchange exchange) {
+        // item_view documents already carry categoryName, so they share the single-lookup handling
+        Document viewDoc = exchange.getIn().getBody(Document.class);
+        exchange.getIn().setBody(viewDoc != null ? List.of(viewDoc) : null);
+        processLookupResult(exchange);
+    }
+
+    static ItemResponse buildItemResponse(Document itemDoc, String categoryName) {
         ItemResponse response = new ItemResponse();
         response.setId(itemDoc.getString("_id"));
         response.setItemName(itemDoc.getString("itemName"));
-        response.setCategoryName(categoryDoc.getString("categoryName"));
+        response.setCategoryName(categoryName);
 
         // Set itemPrice
         Document priceDoc = itemDoc.get("itemPrice", Document.class);
         if (priceDoc != null) {
             ItemPrice price = new ItemPrice();
-            Number basePrice = priceDoc.get("basePrice", Number.class);
-            Number sellingPrice = priceDoc.get("sellingPrice", Number.class);
-            price.setBasePrice(basePrice != null ? BigDecimal.valueOf(basePrice.doubleValue()) : null);
-            price.setSellingPrice(sellingPrice != null ? BigDecimal.valueOf(sellingPrice.doubleValue()) : null);
+            price.setBasePrice(BsonValues.toBigDecimal(priceDoc.get("basePrice")));
+            price.setSellingPrice(BsonValues.toBigDecimal(priceDoc.get("sellingPrice")));
             response.setItemPrice(price);
         }
 
@@ -91,10 +164,7 @@ public class GetItemBean {
         Object specialProduct = itemDoc.get("specialProduct");
         response.setSpecialProduct(specialProduct instanceof Boolean ? (Boolean) specialProduct : 
                 "true".equalsIgnoreCase(String.valueOf(specialProduct)));
-
-        exchange.getIn().setBody(response);
-        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
-        logger.info("ItemResponse constructed for item ID: {}", response.getId());
+        return response;
     }
 
     public void processResult(Exchange exchange) {
@@ -0,0 +1,91 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.exception.InventoryValidationException;
+import com.UST.Apache_Camel.model.ItemBatchResponse;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class GetItemsBatchBean {
+    private static final Logger logger = LoggerFactory.getLogger(GetItemsBatchBean.class);
+
+    public void buildBatchQuery(Exchange exchange) throws InventoryValidationException {
+        Map<String, Object> request = exchange.getIn().getBody(Map.class);
+        if (request == null || !(request.get("ids") instanceof List)) {
+            throw new InventoryValidationException("Payload must contain an 'ids' list.");
+        }
+
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (Object id : (List<?>) request.get("ids")) {
+            if (id == null || id.toString().isBlank()) {
+                throw new InventoryValidationException("Item ids must not be empty.");
+            }
+            itemIds.add(id.toString());
+        }
+        if (itemIds.isEmpty()) {
+            throw new InventoryValidationException("Item ids list cannot be empty.");
+        }
+
+        int maxIds = exchange.getProperty("batchMaxIds", 100, Integer.class);
+        if (itemIds.size() > maxIds) {
+            throw new InventoryValidationException("A batch can contain at most " + maxIds + " item ids.");
+        }
+
+        exchange.setProperty("requestedItemIds", new ArrayList<>(itemIds));
+        exchange.getIn().setBody(new Document("_id", new Document("$in", new ArrayList<>(itemIds))));
+        logger.debug("Built batch query for {} item ids", itemIds.size());
+    }
+
+    public void collectCategoryIds(Exchange exchange) {
+        List<Document> itemDocs = exchange.getIn().getBody(List.class);
+        if (itemDocs == null) {
+            itemDocs = new ArrayList<>();
+        }
+
+        Set<String> categoryIds = new LinkedHashSet<>();
+        for (Document itemDoc : itemDocs) {
+            if (itemDoc.getString("categoryId") != null) {
+                categoryIds.add(itemDoc.getString("categoryId"));
+            }
+        }
+
+        exchange.setProperty("batchItems", itemDocs);
+        exchange.getIn().setBody(categoryIds);
+        logger.debug("Batch query returned {} items across {} categories", itemDocs.size(), categoryIds.size());
+    }
+
+    public void buildBatchResponse(Exchange exchange) {
+        Map<String, Document> categories = exchange.getIn().getBody(Map.class);
+        List<Document> itemDocs = exchange.getProperty("batchItems", List.class);
+        List<String> requestedIds = exchange.getProperty("requestedItemIds", List.class);
+
+        Map<String, Document> itemsById = new HashMap<>(itemDocs.size() * 2);
+        for (Document itemDoc : itemDocs) {
+            itemsById.put(itemDoc.getString("_id"), itemDoc);
+        }
+
+        // Items whose category cannot be resolved are reported as missing, as GET /mycart/item/{itemId} returns 404 for them
+        ItemBatchResponse response = new ItemBatchResponse();
+        for (String itemId : requestedIds) {
+            Document itemDoc = itemsById.get(itemId);
+            Document categoryDoc = itemDoc != null ? categories.get(itemDoc.getString("categoryId")) : null;
+            if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+                response.getMissing().add(itemId);
+                continue;
+            }
+            response.getItems().put(itemId, GetItemBean.buildItemResponse(itemDoc, categoryDoc.getString("categoryName")));
+        }
+
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Batch lookup resolved {} items, missing: {}", response.getItems().size(), response.getMissing());
+    }
+}
@@ -1,5 +1,6 @@
 package com.UST.Apache_Camel.bean;
 
+import com.UST.Apache_Camel.codec.BsonValues;
 import com.UST.Apache_Camel.config.ApplicationConstants;
 import com.UST.Apache_Camel.model.*;
 import org.apache.camel.Exchange;
@@ -7,13 +8,17 @@ import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class GetItemsByCategoryBean{
     private static final Logger logger = LoggerFactory.getLogger(GetItemsByCategoryBean.class);
 
+    private static final String PRICE_FIELD = "itemPrice.sellingPrice";
+    private static final String STOCK_FIELD = "stockDetails.availableStock";
+    private static final Map<String, String> SORT_FIELDS = Map.of("price", PRICE_FIELD, "name", "itemName");
+
     public void buildAggregationPipeline(Exchange exchange) {
         String categoryId = exchange.getIn().getHeader("categoryId", String.class);
         boolean includeSpecial = Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class));
@@ -23,7 +28,20 @@ public class GetItemsByCategoryBean{
         if (!includeSpecial) {
             matchStage.get("$match", Document.class).append("specialProduct", false);
         }
+        // Filters and sort run on the item collection before the $lookup, so only matching items are joined
+        if (!applyListingFilters(exchange, matchStage.get("$match", Document.class))) {
+            return;
+        }
+        ListingSort sort = resolveSort(exchange);
+        if (sort == null) {
+            return;
+        }
         pipeline.add(matchStage);
+        if (sort.field != null) {
+            pipeline.add(new Document("$sort", sort.toSortDocument()));
+        }
+        // Drop unused fields such as the review array before the $lookup
+        pipeline.add(new Document("$project", itemProjection(exchange, sort)));
 
         pipeline.add(new Document("$lookup", new Document()
                 .append("from", ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION)
@@ -84,9 +102,11 @@ public class GetItemsByCategoryBean{
         }
 
         List<Document> itemDocs = resultDoc.getList("items", Document.class, new ArrayList<>());
-        logger.info("Retrieved {} item documents for categoryId: {}, itemIds: {}", 
-                itemDocs.size(), categoryId, 
-                itemDocs.stream().map(doc -> doc.getString("id")).collect(Collectors.toList()));
+        logger.info("Retrieved {} item documents for categoryId: {}", itemDocs.size(), categoryId);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieved itemIds for categoryId {}: {}", categoryId,
+                    itemDocs.stream().map(doc -> doc.getString("id")).collect(Collectors.toList()));
+        }
 
         exchange.setProperty("resultResponse", resultResponse);
         exchange.getIn().setBody(itemDocs);
@@ -129,6 +149,31 @@ public class GetItemsByCategoryBean{
 
         logger.debug("Processing item document: {}", itemDoc);
 
+        ItemResponseCat item = toItemResponseCat(itemDoc);
+        exchange.getIn().setBody(item);
+        logger.debug("Transformed item: {}, stockDetails: {}, specialProduct: {}", 
+                item.getId(), item.getStockDetails(), item.isSpecialProduct());
+    }
+
+    public void transformItems(Exchange exchange) {
+        List<Document> itemDocs = exchange.getIn().getBody(List.class);
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+
+        // Whole items array converted in one pass, without per-item exchanges
+        List<ItemResponseCat> items = new ArrayList<>(itemDocs != null ? itemDocs.size() : 0);
+        if (itemDocs != null) {
+            for (Document itemDoc : itemDocs) {
+                if (itemDoc != null) {
+                    items.add(toItemResponseCat(itemDoc));
+                }
+            }
+        }
+
+        exchange.getIn().setBody(items);
+        logger.debug("Transformed {} items for categoryId: {}", items.size(), categoryId);
+    }
+
+    static ItemResponseCat toItemResponseCat(Document itemDoc) {
         ItemResponseCat item = new ItemResponseCat();
         item.setId(itemDoc.getString("id"));
         item.setItemName(itemDoc.getString("itemName"));
@@ -138,16 +183,13 @@ public class GetItemsByCategoryBean{
         Object specialProduct = itemDoc.get("specialProduct");
         item.setSpecialProduct(specialProduct instanceof Boolean ? (Boolean) specialProduct : 
                 "true".equalsIgnoreCase(String.valueOf(specialProduct)));
-        logger.debug("Processed specialProduct for item {}: {}", item.getId(), item.isSpecialProduct());
 
         // Handle nested itemPrice
         Document priceDoc = itemDoc.get("itemPrice", Document.class);
         if (priceDoc != null) {
             ItemPrice itemPrice = new ItemPrice();
-            Number basePrice = priceDoc.get("basePrice", Number.class);
-            Number sellingPrice = priceDoc.get("sellingPrice", Number.class);
-            itemPrice.setBasePrice(basePrice != null ? BigDecimal.valueOf(basePrice.doubleValue()) : null);
-            itemPrice.setSellingPrice(sellingPrice != null ? BigDecimal.valueOf(sellingPrice.doubleValue()) : null);
+            itemPrice.setBasePrice(BsonValues.toBigDecimal(priceDoc.get("basePrice")));
+            itemPrice.setSellingPrice(BsonValues.toBigDecimal(priceDoc.get("sellingPrice")));
             item.setItemPrice(itemPrice);
         }
 
@@ -160,10 +202,331 @@ public class GetItemsByCategoryBean{
             stockDetails.setUnitOfMeasure(stockDoc.getString("unitOfMeasure"));
             item.setStockDetails(stockDetails);
         }
+        return item;
+    }
 
-        exchange.getIn().setBody(item);
-        logger.debug("Transformed item: {}, stockDetails: {}, specialProduct: {}", 
-                item.getId(), item.getStockDetails(), item.isSpecialProduct());
+    public void setPageCategoryId(Exchange exchange) {
+        exchange.getIn().setBody(exchange.getIn().getHeader("categoryId", String.class));
+    }
+
+    public void buildPagedPipeline(Exchange exchange) {
+        Document categoryDoc = exchange.getIn().getBody(Document.class);
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+        boolean includeSpecial = Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class));
+
+        if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+            rejectPage(exchange, 404, ApplicationConstants.ERROR_CATEGORY_NOT_FOUND);
+            logger.info("Category not found for categoryId: {}", categoryId);
+            return;
+        }
+
+        int maxLimit = exchange.getProperty("pageMaxLimit", 500, Integer.class);
+        Integer limit = parseLimit(exchange.getIn().getHeader("limit", String.class));
+        if (limit == null || limit < 1 || limit > maxLimit) {
+            rejectPage(exchange, 400, "limit must be between 1 and " + maxLimit);
+            return;
+        }
+
+        Document match = new Document("categoryId", categoryId);
+        if (!includeSpecial) {
+            match.append("specialProduct", false);
+        }
+        if (!applyListingFilters(exchange, match)) {
+            return;
+        }
+        ListingSort sort = resolveSort(exchange);
+        if (sort == null) {
+            return;
+        }
+
+        String after = exchange.getIn().getHeader("after", String.class);
+        if (after != null && !after.isBlank()) {
+            Document keyset = sort.keysetCondition(after);
+            if (keyset == null) {
+                rejectPage(exchange, 400, "Invalid page token");
+                return;
+            }
+            match.putAll(keyset);
+        }
+
+        // Keyset page on (sort field, _id): no $group, category metadata comes from the cache
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", match));
+        pipeline.add(new Document("$sort", sort.toSortDocument()));
+        pipeline.add(new Document("$limit", limit + 1));
+        pipeline.add(new Document("$project", itemProjection(exchange, sort)));
+
+        exchange.setProperty("pageCategory", categoryDoc);
+        exchange.setProperty("pageLimit", limit);
+        exchange.setProperty("pageSort", sort);
+        exchange.getIn().setBody(pipeline);
+        logger.debug("Built paged pipeline for categoryId: {}, limit: {}, match: {}", categoryId, limit, match);
+    }
+
+    public void buildPagedResponse(Exchange exchange) {
+        List<Document> itemDocs = exchange.getIn().getBody(List.class);
+        Document categoryDoc = exchange.getProperty("pageCategory", Document.class);
+        int limit = exchange.getProperty("pageLimit", Integer.class);
+        ListingSort sort = exchange.getProperty("pageSort", ListingSort.class);
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+
+        if (itemDocs == null) {
+            itemDocs = new ArrayList<>();
+        }
+        boolean hasMore = itemDocs.size() > limit;
+        int pageSize = Math.min(itemDocs.size(), limit);
+
+        List<ItemResponseCat> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(toItemResponseCat(itemDocs.get(i)));
+        }
+
+        CategoryItemsResponse response = new CategoryItemsResponse(
+                categoryDoc.getString("categoryName"), categoryDoc.getString("categoryDep"), items);
+        if (hasMore) {
+            response.setNextPageToken(sort.nextPageToken(itemDocs.get(pageSize - 1)));
+        }
+
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Page with {} items for categoryId: {}, hasMore: {}", items.size(), categoryId, hasMore);
+    }
+
+    public void buildViewPipeline(Exchange exchange) {
+        Document categoryDoc = exchange.getIn().getBody(Document.class);
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+        boolean includeSpecial = Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class));
+
+        if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+            rejectPage(exchange, 404, ApplicationConstants.ERROR_CATEGORY_NOT_FOUND);
+            logger.info("Category not found for categoryId: {}", categoryId);
+            return;
+        }
+
+        // item_view documents are already shaped for the response, no $lookup or $group needed
+        Document match = new Document("categoryId", categoryId);
+        if (!includeSpecial) {
+            match.append("specialProduct", false);
+        }
+        if (!applyListingFilters(exchange, match)) {
+            return;
+        }
+        ListingSort sort = resolveSort(exchange);
+        if (sort == null) {
+            return;
+        }
+
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", match));
+        pipeline.add(new Document("$sort", sort.toSortDocument()));
+        pipeline.add(new Document("$project", itemProjection(exchange, sort)));
+
+        exchange.setProperty("pageCategory", categoryDoc);
+        exchange.getIn().setBody(pipeline);
+        logger.debug("Built item_view pipeline for categoryId: {}, includeSpecial: {}", categoryId, includeSpecial);
+    }
+
+    public void buildViewResponse(Exchange exchange) {
+        Document categoryDoc = exchange.getProperty("pageCategory", Document.class);
+        transformItems(exchange);
+        List<ItemResponseCat> items = exchange.getIn().getBody(List.class);
+
+        exchange.getIn().setBody(new CategoryItemsResponse(
+                categoryDoc.getString("categoryName"), categoryDoc.getString("categoryDep"), items));
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Final response with {} items from item_view for categoryId: {}",
+                items.size(), exchange.getIn().getHeader("categoryId", String.class));
+    }
+
+    /**
+     * Item fields read from Mongo: the response fields, narrowed to the sparse
+     * fieldset when one is requested. categoryId and the sort field are always
+     * kept for the category join and the page token.
+     */
+    private Document itemProjection(Exchange exchange, ListingSort sort) {
+        Set<String> fields = exchange.getProperty("sparseFields", Set.class);
+        Document projection = new Document("id", "$_id").append("categoryId", 1);
+        if (fields == null || fields.contains("itemName")) {
+            projection.append("itemName", 1);
+        }
+        if (fields == null || fields.contains("itemPrice")) {
+            projection.append("itemPrice", 1);
+        }
+        if (fields == null || fields.contains("stockDetails")) {
+            projection.append("stockDetails.availableStock", 1)
+                    .append("stockDetails.unitOfMeasure", 1);
+        }
+        if (fields == null || fields.contains("specialProduct")) {
+            projection.append("specialProduct", 1);
+        }
+        if (sort.field != null && !projection.containsKey(sort.field) && !projection.containsKey(sort.field.split("\\.")[0])) {
+            projection.append(sort.field, 1);
+        }
+        return projection;
+    }
+
+    /**
+     * Adds the minPrice, maxPrice and inStockOnly query params to the $match.
+     * Returns false after rejecting the request when a value is invalid.
+     */
+    private boolean applyListingFilters(Exchange exchange, Document match) {
+        Double minPrice;
+        Double maxPrice;
+        try {
+            minPrice = parsePrice(exchange.getIn().getHeader("minPrice", String.class));
+            maxPrice = parsePrice(exchange.getIn().getHeader("maxPrice", String.class));
+        } catch (NumberFormatException e) {
+            rejectPage(exchange, 400, "minPrice and maxPrice must be non-negative numbers");
+            return false;
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            rejectPage(exchange, 400, "minPrice cannot be greater than maxPrice");
+            return false;
+        }
+
+        if (minPrice != null || maxPrice != null) {
+            Document priceRange = new Document();
+            if (minPrice != null) {
+                priceRange.append("$gte", minPrice);
+            }
+            if (maxPrice != null) {
+                priceRange.append("$lte", maxPrice);
+            }
+            match.append(PRICE_FIELD, priceRange);
+        }
+        if (Boolean.parseBoolean(exchange.getIn().getHeader("inStockOnly", "false", String.class))) {
+            match.append(STOCK_FIELD, new Document("$gt", 0));
+        }
+        return true;
+    }
+
+    private Double parsePrice(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        double price = Double.parseDouble(value.trim());
+        if (Double.isNaN(price) || price < 0) {
+            throw new NumberFormatException("Invalid price: " + value);
+        }
+        return price;
+    }
+
+    /**
+     * Resolves the sort query param (price, -price, name, -name). Returns null
+     * after rejecting the request when the value is not supported.
+     */
+    private ListingSort resolveSort(Exchange exchange) {
+        String sort = exchange.getIn().getHeader("sort", String.class);
+        if (sort == null || sort.isBlank()) {
+            return new ListingSort(null, null, 1);
+        }
+        sort = sort.trim();
+        boolean descending = sort.startsWith("-");
+        String field = SORT_FIELDS.get(descending ? sort.substring(1) : sort);
+        if (field == null) {
+            rejectPage(exchange, 400, "sort must be one of price, -price, name, -name");
+            return null;
+        }
+        return new ListingSort(sort, field, descending ? -1 : 1);
+    }
+
+    /**
+     * Listing order: an optional sort field with _id as tie-breaker, so keyset
+     * pages stay stable when several items share the same price or name.
+     */
+    static final class ListingSort {
+        private final String param;
+        private final String field;
+        private final int direction;
+
+        ListingSort(String param, String field, int direction) {
+            this.param = param;
+            this.field = field;
+            this.direction = direction;
+        }
+
+        Document toSortDocument() {
+            Document sort = new Document();
+            if (field != null) {
+                sort.append(field, direction);
+            }
+            // _id follows the sort direction so one {field: 1, _id: 1} index serves both orders
+            return sort.append("_id", field != null ? direction : 1);
+        }
+
+        String nextPageToken(Document lastItemDoc) {
+            String lastId = lastItemDoc.getString("id");
+            if (field == null) {
+                return encodePageToken(lastId);
+            }
+            Document token = new Document("s", param)
+                    .append("v", valueAt(lastItemDoc, field))
+                    .append("id", lastId);
+            return encodePageToken(token.toJson());
+        }
+
+        Document keysetCondition(String pageToken) {
+            String decoded = decodePageToken(pageToken);
+            if (decoded == null) {
+                return null;
+            }
+            if (field == null) {
+                return new Document("_id", new Document("$gt", decoded));
+            }
+
+            Document token;
+            try {
+                token = Document.parse(decoded);
+            } catch (RuntimeException e) {
+                return null;
+            }
+            // A token issued for another sort order cannot be resumed
+            if (!param.equals(token.getString("s")) || token.getString("id") == null) {
+                return null;
+            }
+            Object value = token.get("v");
+            String operator = direction > 0 ? "$gt" : "$lt";
+            return new Document("$or", List.of(
+                    new Document(field, new Document(operator, value)),
+                    new Document(field, value).append("_id", new Document(operator, token.getString("id")))));
+        }
+
+        private static Object valueAt(Document doc, String path) {
+            Object value = doc;
+            for (String key : path.split("\\.")) {
+                if (!(value instanceof Document)) {
+                    return null;
+                }
+                value = ((Document) value).get(key);
+            }
+            return value;
+        }
+    }
+
+    private void rejectPage(Exchange exchange, int statusCode, String message) {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
+        exchange.getIn().setBody(Map.of("message", message));
+        exchange.setProperty("pageRejected", true);
+    }
+
+    private Integer parseLimit(String limit) {
+        try {
+            return limit != null ? Integer.valueOf(limit.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String encodePageToken(String itemId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(itemId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodePageToken(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public void buildFinalResponse(Exchange exchange) {
@@ -193,9 +556,11 @@ public class GetItemsByCategoryBean{
 
         exchange.getIn().setBody(response);
         exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
-        logger.info("Final response with {} items for categoryId: {}, specialItemsIncluded: {}, itemIds: {}", 
-                response.getItems().size(), categoryId,
-                response.getItems().stream().anyMatch(ItemResponseCat::isSpecialProduct),
-                response.getItems().stream().map(ItemResponseCat::getId).collect(Collectors.toList()));
+        logger.info("Final response with {} items for categoryId: {}", response.getItems().size(), categoryId);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Final response for categoryId: {}, specialItemsIncluded: {}, itemIds: {}", categoryId,
+                    response.getItems().stream().anyMatch(ItemResponseCat::isSpecialProduct),
+                    response.getItems().stream().map(ItemResponseCat::getId).collect(Collectors.toList()));
+        }
     }
 }
\ No newline at end of file
@@ -17,6 +17,19 @@ public class ItemBean {
 
     public void processItem(Exchange exchange) throws InventoryValidationException {
         Map<String, Object> item = exchange.getIn().getBody(Map.class);
+        int stockReduction = stockReduction(item);
+        String id = item.get("_id").toString();
+
+        exchange.setProperty("itemId", id);
+        exchange.setProperty("stockReduction", stockReduction);
+        logger.debug("Processing item: {}, stockReduction: {}", id, stockReduction);
+    }
+
+    /**
+     * Validates one inventory entry and returns soldOut + damaged, shared by the
+     * per-item split and the bulk update engine.
+     */
+    public static int stockReduction(Map<String, Object> item) throws InventoryValidationException {
         if (item == null || item.get("_id") == null || item.get("stockDetails") == null) {
             throw new InventoryValidationException("Each item must have '_id' and 'stockDetails'.");
         }
@@ -51,10 +64,7 @@ public class ItemBean {
         if (damaged < 0) {
             throw new InventoryValidationException("damaged cannot be negative for item: " + id);
         }
-
-        exchange.setProperty("itemId", id);
-        exchange.setProperty("stockReduction", soldOut + damaged);
-        logger.debug("Processing item: {}, stockReduction: {}", id, soldOut + damaged);
+        return soldOut + damaged;
     }
 
     public void setItemId(Exchange exchange) {
@@ -92,6 +102,8 @@ public class ItemBean {
         itemDoc.put("lastUpdateDate", LocalDateTime.now().format(DATE_TIME_FORMATTER));
 
         exchange.setProperty("updatedItem", itemDoc);
+        // Applied to the category_stats rollup once the save succeeds
+        exchange.setProperty("stockDelta", -stockReduction);
         exchange.getIn().setBody(itemDoc);
         logger.debug("Updated item: {}, availableStock: {}, lastUpdateDate: {}", 
                 itemId, stockDetails.get("availableStock"), itemDoc.get("lastUpdateDate"));
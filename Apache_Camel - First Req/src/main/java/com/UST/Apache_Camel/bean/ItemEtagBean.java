@@ -0,0 +1,132 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Conditional GET support for getItemByIdRoute. The ETag is derived from the
+ * item's _id, lastUpdateDate and availableStock plus the category fields shown
+ * in the response, so it can be recomputed from a projection-only query
+ * without building an ItemResponse.
+ * <p>
+ * In reactive mode the projection-only query is skipped, since it would block
+ * the request thread, and the ETag of the loaded response is compared instead.
+ */
+@Component
+public class ItemEtagBean {
+    private static final Logger logger = LoggerFactory.getLogger(ItemEtagBean.class);
+
+    public static final String HEADER_ETAG = "ETag";
+    public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
+    private final MongoClient mongoClient;
+    private final CategoryCache categoryCache;
+    private final boolean reactiveReads;
+
+    public ItemEtagBean(ReadMongoClient readMongoClient, CategoryCache categoryCache,
+                        @Value("${app.reactive.enabled:false}") boolean reactiveReads) {
+        this.mongoClient = readMongoClient.client();
+        this.categoryCache = categoryCache;
+        this.reactiveReads = reactiveReads;
+    }
+
+    public void checkNotModified(Exchange exchange) {
+        String ifNoneMatch = exchange.getIn().getHeader(HEADER_IF_NONE_MATCH, String.class);
+        if (reactiveReads || ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return;
+        }
+
+        String itemId = exchange.getIn().getHeader("itemId", String.class);
+        Document itemDoc = mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_READ_COLLECTION)
+                .find(Filters.eq("_id", itemId))
+                .projection(Projections.include("categoryId", "lastUpdateDate", "stockDetails.availableStock"))
+                .first();
+        if (itemDoc == null) {
+            // Let the full load produce the 404
+            return;
+        }
+        Document categoryDoc = categoryCache.get(itemDoc.getString("categoryId"));
+        if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+            return;
+        }
+
+        String etag = computeEtag(itemDoc, categoryDoc.getString("categoryName"), categoryDoc.getString("categoryDep"));
+        if (matches(ifNoneMatch, etag)) {
+            notModified(exchange, etag);
+            logger.debug("Item ID {} not modified, ETag: {}", itemId, etag);
+        }
+    }
+
+    /**
+     * Runs after the load: answers 304 when the freshly built response carries
+     * the ETag the client already has.
+     */
+    public void checkLoadedNotModified(Exchange exchange) {
+        Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        String etag = exchange.getIn().getHeader(HEADER_ETAG, String.class);
+        if (responseCode != null && responseCode == 200
+                && matches(exchange.getIn().getHeader(HEADER_IF_NONE_MATCH, String.class), etag)) {
+            notModified(exchange, etag);
+            logger.debug("Item ID {} not modified after load, ETag: {}", exchange.getIn().getHeader("itemId"), etag);
+        }
+    }
+
+    public static void notModified(Exchange exchange, String etag) {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 304);
+        exchange.getIn().setHeader(HEADER_ETAG, etag);
+        exchange.getIn().setBody(null);
+        exchange.setProperty("itemNotModified", true);
+    }
+
+    /**
+     * Strong ETag over the fields an item response can change by. availableStock
+     * is included because lastUpdateDate only has second precision.
+     */
+    public static String computeEtag(Document itemDoc, String categoryName, String categoryDep) {
+        Document stockDoc = itemDoc.get("stockDetails", Document.class);
+        String source = itemDoc.get("_id") + "|" + itemDoc.get("lastUpdateDate")
+                + "|" + (stockDoc != null ? stockDoc.get("availableStock") : null)
+                + "|" + categoryName + "|" + categoryDep;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                etag.append(String.format("%02x", digest[i]));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -15,20 +15,30 @@ public class PostNewCategoryBean {
     public void validateCategory(Exchange exchange) throws Exception {
         Category category = exchange.getIn().getBody(Category.class);
         exchange.setProperty("newCategory", category);
+        validate(category);
 
+        String categoryId = category.getId();
+        exchange.getIn().setBody(categoryId);
+        logger.debug("Validated category and set categoryId for findById: {}", categoryId);
+    }
+
+    /**
+     * Field checks shared by the single and bulk category create paths.
+     */
+    public static void validate(Category category) {
         if (category == null || category.getId() == null || category.getId().isBlank() ||
             category.getCategoryName() == null || category.getCategoryName().isBlank()) {
             throw new IllegalArgumentException("Category ID and Category Name must not be empty");
         }
-
-        String categoryId = category.getId();
-        exchange.getIn().setBody(categoryId);
-        logger.debug("Validated category and set categoryId for findById: {}", categoryId);
     }
 
     public void prepareCategoryForInsert(Exchange exchange) {
         Category category = exchange.getProperty("newCategory", Category.class);
+        exchange.getIn().setBody(toDocument(category));
+        logger.debug("Prepared category for insert: {}", category.getId());
+    }
 
+    public static Document toDocument(Category category) {
         // Convert Category to Document for MongoDB
         Document document = new Document();
         document.append("_id", category.getId());
@@ -39,9 +49,7 @@ public class PostNewCategoryBean {
         if (category.getCategoryTax() != null) {
             document.append("categoryTax", category.getCategoryTax());
         }
-
-        exchange.getIn().setBody(document);
-        logger.debug("Prepared category for insert: {}", category.getId());
+        return document;
     }
 
     public void handleInsertSuccess(Exchange exchange) {
@@ -23,7 +23,16 @@ public class PostNewItemBean {
     public void validateItem(Exchange exchange) throws Exception {
         Item item = exchange.getIn().getBody(Item.class);
         exchange.setProperty("newItem", item);
+        validate(item);
 
+        exchange.getIn().setBody(item.getId());
+        logger.debug("Validated item and set itemId for findById: {}", item.getId());
+    }
+
+    /**
+     * Field checks shared by the single and bulk item create paths.
+     */
+    public static void validate(Item item) throws InventoryValidationException {
         // Validate required fields
         if (item == null || item.getId() == null || item.getItemName() == null ||
             item.getCategoryId() == null || item.getItemPrice() == null || 
@@ -59,9 +68,6 @@ public class PostNewItemBean {
         if (availableStock < 0) {
             throw new InventoryValidationException("availableStock cannot be negative for item: " + itemId);
         }
-
-        exchange.getIn().setBody(itemId);
-        logger.debug("Validated item and set itemId for findById: {}", itemId);
     }
 
     public void handleExistingItem(Exchange exchange) {
@@ -88,6 +94,12 @@ public class PostNewItemBean {
         Item item = exchange.getProperty("validatedItem", Item.class);
         item.setLastUpdateDate(LocalDateTime.now());
 
+        exchange.getIn().setBody(toDocument(item));
+        logger.debug("Prepared item for insert: {}, lastUpdateDate: {}", 
+                item.getId(), item.getLastUpdateDate().format(DATE_TIME_FORMATTER));
+    }
+
+    public static Document toDocument(Item item) {
         Document document = new Document();
         document.append("_id", item.getId());
         document.append("itemName", item.getItemName());
@@ -116,10 +128,7 @@ public class PostNewItemBean {
         } else {
             document.append("review", List.of());
         }
-
-        exchange.getIn().setBody(document);
-        logger.debug("Prepared item for insert: {}, lastUpdateDate: {}", 
-                item.getId(), item.getLastUpdateDate().format(DATE_TIME_FORMATTER));
+        return document;
     }
 
     public void handleInsertSuccess(Exchange exchange) {
@@ -0,0 +1,154 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.model.ItemResponse;
+import com.UST.Apache_Camel.model.SearchResponse;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text item search over the item_view read model. Results are ranked by
+ * text score with _id as tie-breaker and paged with a (score, _id) keyset token.
+ * Special products are left out unless includeSpecial=true, like the category
+ * listings.
+ */
+public class SearchItemsBean {
+    private static final Logger logger = LoggerFactory.getLogger(SearchItemsBean.class);
+
+    public static final int MAX_QUERY_LENGTH = 200;
+    private static final int DEFAULT_LIMIT = 20;
+
+    public void buildSearchPipeline(Exchange exchange) {
+        String query = normalizeQuery(exchange.getIn().getHeader("q", String.class));
+        if (query == null) {
+            rejectSearch(exchange, "q is required");
+            return;
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            rejectSearch(exchange, "q cannot be longer than " + MAX_QUERY_LENGTH + " characters");
+            return;
+        }
+
+        int maxLimit = exchange.getProperty("pageMaxLimit", 500, Integer.class);
+        String limitParam = exchange.getIn().getHeader("limit", String.class);
+        Integer limit = limitParam == null || limitParam.isBlank() ? Integer.valueOf(DEFAULT_LIMIT) : parseLimit(limitParam);
+        if (limit == null || limit < 1 || limit > maxLimit) {
+            rejectSearch(exchange, "limit must be between 1 and " + maxLimit);
+            return;
+        }
+
+        boolean includeSpecial = Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class));
+        Document match = new Document("$text", new Document("$search", query));
+        if (!includeSpecial) {
+            match.append("specialProduct", false);
+        }
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", match));
+        pipeline.add(new Document("$addFields", new Document("score", new Document("$meta", "textScore"))));
+
+        String after = exchange.getIn().getHeader("after", String.class);
+        if (after != null && !after.isBlank()) {
+            Document keyset = keysetCondition(after);
+            if (keyset == null) {
+                rejectSearch(exchange, "Invalid page token");
+                return;
+            }
+            pipeline.add(new Document("$match", keyset));
+        }
+
+        pipeline.add(new Document("$sort", new Document("score", -1).append("_id", 1)));
+        pipeline.add(new Document("$limit", limit + 1));
+        pipeline.add(new Document("$project", new Document("itemName", 1)
+                .append("categoryName", 1)
+                .append("itemPrice", 1)
+                .append("stockDetails", 1)
+                .append("specialProduct", 1)
+                .append("score", 1)));
+
+        exchange.setProperty("searchQuery", query);
+        exchange.setProperty("searchLimit", limit);
+        exchange.setProperty("searchIncludeSpecial", includeSpecial);
+        exchange.getIn().setBody(pipeline);
+        logger.debug("Built search pipeline for query: '{}', includeSpecial: {}, limit: {}, after: {}",
+                query, includeSpecial, limit, after);
+    }
+
+    public void buildSearchResponse(Exchange exchange) {
+        List<Document> itemDocs = exchange.getIn().getBody(List.class);
+        String query = exchange.getProperty("searchQuery", String.class);
+        int limit = exchange.getProperty("searchLimit", Integer.class);
+
+        if (itemDocs == null) {
+            itemDocs = new ArrayList<>();
+        }
+        boolean hasMore = itemDocs.size() > limit;
+        int pageSize = Math.min(itemDocs.size(), limit);
+
+        List<ItemResponse> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Document itemDoc = itemDocs.get(i);
+            items.add(GetItemBean.buildItemResponse(itemDoc, itemDoc.getString("categoryName")));
+        }
+
+        SearchResponse response = new SearchResponse(query, items);
+        if (hasMore) {
+            Document last = itemDocs.get(pageSize - 1);
+            response.setNextPageToken(GetItemsByCategoryBean.encodePageToken(
+                    new Document("score", last.get("score")).append("id", last.getString("_id")).toJson()));
+        }
+
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("Search for '{}' returned {} items, hasMore: {}", query, items.size(), hasMore);
+    }
+
+    /**
+     * Lower-cased, trimmed query with runs of whitespace collapsed. Text search
+     * is case-insensitive, so this only makes equivalent queries share a cache key.
+     */
+    static String normalizeQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private Document keysetCondition(String pageToken) {
+        String decoded = GetItemsByCategoryBean.decodePageToken(pageToken);
+        if (decoded == null) {
+            return null;
+        }
+        Document token;
+        try {
+            token = Document.parse(decoded);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (!(token.get("score") instanceof Number) || token.getString("id") == null) {
+            return null;
+        }
+        double score = ((Number) token.get("score")).doubleValue();
+        return new Document("$or", List.of(
+                new Document("score", new Document("$lt", score)),
+                new Document("score", score).append("_id", new Document("$gt", token.getString("id")))));
+    }
+
+    private void rejectSearch(Exchange exchange, String message) {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+        exchange.getIn().setBody(Map.of("message", message));
+        exchange.setProperty("searchRejected", true);
+    }
+
+    private Integer parseLimit(String limit) {
+        try {
+            return Integer.valueOf(limit.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.model.CategoryItemsResponse;
+import com.UST.Apache_Camel.model.ItemResponse;
+import com.UST.Apache_Camel.model.ItemResponseCat;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sparse fieldsets for the item and category endpoints: ?fields=itemName,itemPrice
+ * restricts each item in the response to the listed fields.
+ */
+public class SparseFieldsBean {
+    private static final Logger logger = LoggerFactory.getLogger(SparseFieldsBean.class);
+
+    public static final Set<String> ITEM_FIELDS = Set.of(
+            "id", "itemName", "categoryName", "itemPrice", "stockDetails", "specialProduct");
+    public static final Set<String> CATEGORY_ITEM_FIELDS = Set.of(
+            "id", "itemName", "categoryId", "itemPrice", "stockDetails", "specialProduct");
+
+    public void parseItemFields(Exchange exchange) {
+        parseFields(exchange, ITEM_FIELDS);
+    }
+
+    public void parseCategoryItemFields(Exchange exchange) {
+        parseFields(exchange, CATEGORY_ITEM_FIELDS);
+    }
+
+    private void parseFields(Exchange exchange, Set<String> allowedFields) {
+        String fieldsParam = exchange.getIn().getHeader("fields", String.class);
+        if (fieldsParam == null || fieldsParam.isBlank()) {
+            return;
+        }
+
+        Set<String> fields = new TreeSet<>();
+        Set<String> unknownFields = new TreeSet<>();
+        for (String field : fieldsParam.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (allowedFields.contains(name)) {
+                fields.add(name);
+            } else {
+                unknownFields.add(name);
+            }
+        }
+
+        if (!unknownFields.isEmpty() || fields.isEmpty()) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
+            exchange.getIn().setBody(Map.of("message",
+                    "Unknown fields: " + unknownFields + ". Allowed fields: " + new TreeSet<>(allowedFields)));
+            exchange.setProperty("fieldsRejected", true);
+            return;
+        }
+
+        exchange.setProperty("sparseFields", fields);
+        logger.debug("Sparse fieldset requested: {}", fields);
+    }
+
+    public void applyItemFields(Exchange exchange) {
+        Set<String> fields = exchange.getProperty("sparseFields", Set.class);
+        Object body = exchange.getIn().getBody();
+        if (fields == null || !(body instanceof ItemResponse)) {
+            return;
+        }
+
+        ItemResponse item = (ItemResponse) body;
+        Map<String, Object> sparse = new LinkedHashMap<>();
+        putIfRequested(sparse, fields, "id", item.getId());
+        putIfRequested(sparse, fields, "itemName", item.getItemName());
+        putIfRequested(sparse, fields, "categoryName", item.getCategoryName());
+        putIfRequested(sparse, fields, "itemPrice", item.getItemPrice());
+        putIfRequested(sparse, fields, "stockDetails", item.getStockDetails());
+        putIfRequested(sparse, fields, "specialProduct", item.isSpecialProduct());
+        exchange.getIn().setBody(sparse);
+    }
+
+    public void applyCategoryFields(Exchange exchange) {
+        Set<String> fields = exchange.getProperty("sparseFields", Set.class);
+        Object body = exchange.getIn().getBody();
+        if (fields == null || !(body instanceof CategoryItemsResponse)) {
+            return;
+        }
+
+        CategoryItemsResponse response = (CategoryItemsResponse) body;
+        List<Map<String, Object>> items = new ArrayList<>(response.getItems().size());
+        for (ItemResponseCat item : response.getItems()) {
+            Map<String, Object> sparse = new LinkedHashMap<>();
+            putIfRequested(sparse, fields, "id", item.getId());
+            putIfRequested(sparse, fields, "itemName", item.getItemName());
+            putIfRequested(sparse, fields, "categoryId", item.getCategoryId());
+            putIfRequested(sparse, fields, "itemPrice", item.getItemPrice());
+            putIfRequested(sparse, fields, "stockDetails", item.getStockDetails());
+            putIfRequested(sparse, fields, "specialProduct", item.isSpecialProduct());
+            items.add(sparse);
+        }
+
+        Map<String, Object> sparseResponse = new LinkedHashMap<>();
+        sparseResponse.put("categoryName", response.getCategoryName());
+        sparseResponse.put("categoryDepartment", response.getCategoryDepartment());
+        sparseResponse.put("items", items);
+        if (response.getNextPageToken() != null) {
+            sparseResponse.put("nextPageToken", response.getNextPageToken());
+        }
+        exchange.getIn().setBody(sparseResponse);
+    }
+
+    private void putIfRequested(Map<String, Object> sparse, Set<String> fields, String name, Object value) {
+        if (fields.contains(name)) {
+            sparse.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.UST.Apache_Camel.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded LRU cache whose entries also expire after a fixed time to live.
+ * Keeps hit, miss and eviction counters for reporting.
+ * <p>
+ * A reader takes a stamp before loading a value from its source and passes it
+ * to put, which drops the value when the key was invalidated in between, so a
+ * response read before a write cannot be cached after the write invalidated
+ * it. Invalidation stamps are kept per key hash stripe; invalidateIf and
+ * invalidateAll stamp every key unless they name the group keys they cover.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private static final int STAMP_STRIPES = 256;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final long[] invalidatedAt = new long[STAMP_STRIPES];
+    private long generation;
+    private long clearedAt;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong stalePuts = new AtomicLong();
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Stamp to take before reading a value from its source.
+     */
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    /**
+     * Stores the value unless key was invalidated after stamp was taken.
+     */
+    public synchronized boolean put(K key, V value, long stamp) {
+        return put(key, value, key, stamp);
+    }
+
+    /**
+     * Stores the value unless groupKey was invalidated after stamp was taken,
+     * for entries that are invalidated by group with invalidateIf.
+     */
+    public synchronized boolean put(K key, V value, Object groupKey, long stamp) {
+        if (clearedAt > stamp || invalidatedAt[stripe(groupKey)] > stamp) {
+            stalePuts.incrementAndGet();
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidatedAt[stripe(key)] = ++generation;
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public synchronized void invalidateIf(Predicate<K> keyFilter) {
+        clearedAt = ++generation;
+        removeIf(keyFilter);
+    }
+
+    /**
+     * Removes the matching entries and stamps only the given group keys.
+     */
+    public synchronized void invalidateIf(Predicate<K> keyFilter, Collection<?> groupKeys) {
+        long invalidation = ++generation;
+        for (Object groupKey : groupKeys) {
+            invalidatedAt[stripe(groupKey)] = invalidation;
+        }
+        removeIf(keyFilter);
+    }
+
+    private void removeIf(Predicate<K> keyFilter) {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keyFilter.test(keys.next())) {
+                keys.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        clearedAt = ++generation;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("stalePuts", stalePuts.get());
+        return stats;
+    }
+
+    private static int stripe(Object key) {
+        int hash = key != null ? key.hashCode() : 0;
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
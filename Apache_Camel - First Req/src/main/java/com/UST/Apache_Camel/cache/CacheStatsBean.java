@@ -0,0 +1,50 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.projection.CategoryStatsRollup;
+import com.UST.Apache_Camel.projection.ItemViewProjector;
+import org.apache.camel.Exchange;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class CacheStatsBean {
+
+    private final CategoryCache categoryCache;
+    private final ItemResponseCache itemResponseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ResponseBytesCache responseBytesCache;
+    private final ItemViewProjector itemViewProjector;
+    private final HedgedReadExecutor hedgedReadExecutor;
+    private final SearchResultCache searchResultCache;
+    private final CategoryStatsRollup categoryStatsRollup;
+
+    public CacheStatsBean(CategoryCache categoryCache, ItemResponseCache itemResponseCache,
+                          ResponseBytesCache responseBytesCache, RequestCoalescer requestCoalescer,
+                          ItemViewProjector itemViewProjector, HedgedReadExecutor hedgedReadExecutor,
+                          SearchResultCache searchResultCache, CategoryStatsRollup categoryStatsRollup) {
+        this.categoryCache = categoryCache;
+        this.itemResponseCache = itemResponseCache;
+        this.responseBytesCache = responseBytesCache;
+        this.requestCoalescer = requestCoalescer;
+        this.itemViewProjector = itemViewProjector;
+        this.hedgedReadExecutor = hedgedReadExecutor;
+        this.searchResultCache = searchResultCache;
+        this.categoryStatsRollup = categoryStatsRollup;
+    }
+
+    public void reportStats(Exchange exchange) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("categoryCache", Map.of("size", categoryCache.size()));
+        stats.put("itemResponseCache", itemResponseCache.stats());
+        stats.put("responseBytesCache", responseBytesCache.stats());
+        stats.put("searchResultCache", searchResultCache.stats());
+        stats.put("requestCoalescing", requestCoalescer.stats());
+        stats.put("itemViewProjection", itemViewProjector.stats());
+        stats.put("categoryStats", categoryStatsRollup.stats());
+        stats.put("hedgedReads", hedgedReadExecutor.stats());
+        exchange.getIn().setBody(stats);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+    }
+}
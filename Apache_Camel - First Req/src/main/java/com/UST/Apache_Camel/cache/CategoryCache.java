@@ -0,0 +1,140 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.model.Category;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory near-cache of the category collection.
+ * <p>
+ * The collection is small and rarely written, so item reads and writes resolve
+ * categories from here instead of issuing a second findById. The cache is loaded
+ * and refreshed by the category cache refresh route, updated synchronously when a
+ * category is inserted, and falls back to Mongo on a miss.
+ */
+@Component
+public class CategoryCache {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCache.class);
+
+    private final MongoClient mongoClient;
+    private final Map<String, Document> categories = new ConcurrentHashMap<>();
+
+    public CategoryCache(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    public void refresh() {
+        // Only ids cached before the query can be stale; ids added while it runs were just inserted or loaded
+        Set<String> staleIds = new HashSet<>(categories.keySet());
+        for (Document categoryDoc : categoryCollection().find()) {
+            String categoryId = categoryDoc.getString("_id");
+            categories.put(categoryId, categoryDoc);
+            staleIds.remove(categoryId);
+        }
+        categories.keySet().removeAll(staleIds);
+        logger.info("Category cache refreshed with {} categories", categories.size());
+    }
+
+    public Document get(String categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        Document categoryDoc = categories.get(categoryId);
+        if (categoryDoc == null) {
+            categoryDoc = categoryCollection().find(Filters.eq("_id", categoryId)).first();
+            if (categoryDoc != null) {
+                categories.put(categoryId, categoryDoc);
+                logger.debug("Category cache miss, loaded categoryId: {}", categoryId);
+            }
+        }
+        return categoryDoc != null ? new Document(categoryDoc) : null;
+    }
+
+    public Map<String, Document> getAll(Collection<String> categoryIds) {
+        Map<String, Document> result = new HashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String categoryId : categoryIds) {
+            Document categoryDoc = categories.get(categoryId);
+            if (categoryDoc != null) {
+                result.put(categoryId, new Document(categoryDoc));
+            } else if (categoryId != null) {
+                missingIds.add(categoryId);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (Document categoryDoc : categoryCollection().find(Filters.in("_id", missingIds))) {
+                String categoryId = categoryDoc.getString("_id");
+                categories.put(categoryId, categoryDoc);
+                result.put(categoryId, new Document(categoryDoc));
+            }
+            logger.debug("Category cache missed {} categories, loaded with one query", missingIds.size());
+        }
+        return result;
+    }
+
+    public void put(Category category) {
+        Document categoryDoc = new Document("_id", category.getId())
+                .append("categoryName", category.getCategoryName());
+        if (category.getCategoryDep() != null) {
+            categoryDoc.append("categoryDep", category.getCategoryDep());
+        }
+        if (category.getCategoryTax() != null) {
+            categoryDoc.append("categoryTax", category.getCategoryTax());
+        }
+        categories.put(category.getId(), categoryDoc);
+        logger.debug("Category cache updated for categoryId: {}", category.getId());
+    }
+
+    public int size() {
+        return categories.size();
+    }
+
+    /**
+     * Drop-in replacement for a category findById endpoint: expects the categoryId
+     * as body and leaves the category document (or null) as body.
+     */
+    public void lookup(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (!(body instanceof String)) {
+            // Leave error responses set by an earlier step untouched
+            return;
+        }
+        String categoryId = (String) body;
+        exchange.getIn().setBody(get(categoryId));
+        logger.debug("Resolved categoryId {} from category cache", categoryId);
+    }
+
+    /**
+     * Expects a collection of categoryIds as body and leaves a map of categoryId
+     * to category document as body.
+     */
+    public void lookupAll(Exchange exchange) {
+        Collection<String> categoryIds = exchange.getIn().getBody(Collection.class);
+        exchange.getIn().setBody(getAll(categoryIds));
+    }
+
+    public void registerInsertedCategory(Exchange exchange) {
+        put(exchange.getProperty("newCategory", Category.class));
+    }
+
+    private MongoCollection<Document> categoryCollection() {
+        return mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION);
+    }
+}
@@ -0,0 +1,266 @@
+package com.UST.Apache_Camel.cache;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a read route and, when it has not answered within the observed p95
+ * latency of that route, sends a second copy of the request. With a
+ * secondaryPreferred read preference the second attempt is free to land on
+ * another replica set member.
+ * <p>
+ * Both attempts run off the caller thread, which waits for the first attempt
+ * that succeeds, so a slow first attempt no longer holds up an answered hedge.
+ * The loser is cancelled; a Mongo operation already sent cannot be recalled, so
+ * its result is only discarded. A failed attempt never wins while the other one
+ * is still running. First attempts run on a pool of attemptThreads and run on
+ * the caller thread, unhedged, when it is full. Hedges run on a small bounded
+ * pool and are skipped when it is busy or when hedges already exceed maxRatio
+ * of all executions.
+ */
+@Component
+public class HedgedReadExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedReadExecutor.class);
+
+    private final ProducerTemplate producerTemplate;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final int sampleSize;
+    private final double maxRatio;
+    private final ScheduledExecutorService hedgeTimer;
+    private final ExecutorService attemptPool;
+    private final ExecutorService hedgePool;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong hedgesSkipped = new AtomicLong();
+
+    public HedgedReadExecutor(ProducerTemplate producerTemplate,
+                              @Value("${app.mongo.hedge.enabled:false}") boolean enabled,
+                              @Value("${app.mongo.hedge.percentile:0.95}") double percentile,
+                              @Value("${app.mongo.hedge.minDelayMs:20}") long minDelayMillis,
+                              @Value("${app.mongo.hedge.sampleSize:512}") int sampleSize,
+                              @Value("${app.mongo.hedge.maxRatio:0.05}") double maxRatio,
+                              @Value("${app.mongo.hedge.threads:4}") int threads,
+                              @Value("${app.mongo.hedge.attemptThreads:200}") int attemptThreads) {
+        this.producerTemplate = producerTemplate;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.sampleSize = Math.max(16, sampleSize);
+        this.maxRatio = maxRatio;
+        // Shut down with the CamelContext; no queue, a busy pool means no hedge
+        ExecutorServiceManager executors = producerTemplate.getCamelContext().getExecutorServiceManager();
+        this.hedgeTimer = executors.newSingleThreadScheduledExecutor(this, "HedgedReadTimer");
+        this.attemptPool = executors.newThreadPool(this, "HedgedReadAttempt", new ThreadPoolProfileBuilder("HedgedReadAttempt")
+                .poolSize(Math.max(1, threads)).maxPoolSize(Math.max(1, attemptThreads)).maxQueueSize(0)
+                .rejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns).build());
+        this.hedgePool = executors.newThreadPool(this, "HedgedRead", new ThreadPoolProfileBuilder("HedgedRead")
+                .poolSize(Math.max(1, threads)).maxPoolSize(Math.max(1, threads)).maxQueueSize(0)
+                .rejectedPolicy(ThreadPoolRejectedPolicy.Abort).build());
+    }
+
+    public void send(String endpointUri, Exchange exchange) throws Exception {
+        executions.incrementAndGet();
+        LatencyWindow window = windows.computeIfAbsent(endpointUri, uri -> new LatencyWindow(sampleSize));
+        long start = System.nanoTime();
+        if (!enabled) {
+            producerTemplate.send(endpointUri, exchange);
+            window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return;
+        }
+
+        // Until the window is warm the threshold is only the configured floor
+        long delayMillis = Math.max(minDelayMillis, window.percentile(percentile));
+        Exchange first = exchange.copy();
+        Exchange second = exchange.copy();
+        HedgedRead read = new HedgedRead();
+        read.firstAttempt = CompletableFuture.supplyAsync(() -> attempt(endpointUri, first, read), attemptPool);
+        if (!read.winner.isDone()) {
+            read.trigger = hedgeTimer.schedule(() -> startHedge(endpointUri, second, read),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        Exchange winner;
+        try {
+            winner = read.winner.join();
+        } finally {
+            read.cancel();
+        }
+        if (winner == second) {
+            hedgeWins.incrementAndGet();
+            logger.debug("Hedged read on {} after {} ms answered first", endpointUri, delayMillis);
+        }
+        window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        exchange.getIn().copyFrom(winner.getMessage());
+        exchange.getProperties().putAll(winner.getProperties());
+        if (winner.getException() != null) {
+            exchange.setException(winner.getException());
+        }
+    }
+
+    private Exchange attempt(String endpointUri, Exchange attempt, HedgedRead read) {
+        try {
+            producerTemplate.send(endpointUri, attempt);
+        } catch (RuntimeException e) {
+            attempt.setException(e);
+        }
+        return read.attemptDone(attempt);
+    }
+
+    /**
+     * Runs on the hedge timer once the first attempt is late, unless it has
+     * answered in the meantime.
+     */
+    private void startHedge(String endpointUri, Exchange second, HedgedRead read) {
+        if (!read.hedgeStarting()) {
+            return;
+        }
+        if (hedged.get() >= Math.max(1, (long) (executions.get() * maxRatio))) {
+            hedgesSkipped.incrementAndGet();
+            read.attemptSkipped();
+            return;
+        }
+        try {
+            read.hedgeAttempt = CompletableFuture.supplyAsync(() -> attempt(endpointUri, second, read), hedgePool);
+            hedged.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            hedgesSkipped.incrementAndGet();
+            read.attemptSkipped();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("executions", executions.get());
+        stats.put("hedged", hedged.get());
+        stats.put("hedgeWins", hedgeWins.get());
+        stats.put("hedgesSkipped", hedgesSkipped.get());
+        Map<String, Object> thresholds = new LinkedHashMap<>();
+        windows.forEach((uri, window) -> thresholds.put(uri, Math.max(minDelayMillis, window.percentile(percentile))));
+        stats.put("thresholdMillis", thresholds);
+        return stats;
+    }
+
+    /**
+     * Race state of one hedged read. winner completes with the first attempt
+     * that succeeds, or with the first failure once no attempt is left running.
+     */
+    private static final class HedgedRead {
+        private final CompletableFuture<Exchange> winner = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger(1);
+        private final AtomicReference<Exchange> failure = new AtomicReference<>();
+        private volatile CompletableFuture<Exchange> firstAttempt;
+        private volatile CompletableFuture<Exchange> hedgeAttempt;
+        private volatile ScheduledFuture<?> trigger;
+
+        private Exchange attemptDone(Exchange attempt) {
+            if (!attempt.isFailed()) {
+                winner.complete(attempt);
+            } else {
+                failure.compareAndSet(null, attempt);
+            }
+            finishAttempt();
+            return attempt;
+        }
+
+        /**
+         * Counts the hedge as running; false when the read is already decided.
+         */
+        private boolean hedgeStarting() {
+            if (running.getAndIncrement() == 0 || winner.isDone()) {
+                finishAttempt();
+                return false;
+            }
+            return true;
+        }
+
+        private void attemptSkipped() {
+            finishAttempt();
+        }
+
+        private void finishAttempt() {
+            if (running.decrementAndGet() == 0 && failure.get() != null) {
+                winner.complete(failure.get());
+            }
+        }
+
+        private void cancel() {
+            if (trigger != null) {
+                trigger.cancel(false);
+            }
+            if (firstAttempt != null) {
+                firstAttempt.cancel(false);
+            }
+            if (hedgeAttempt != null) {
+                hedgeAttempt.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Ring buffer of the last response times of one route. The percentile is
+     * recomputed every few samples instead of on each request.
+     */
+    private static final class LatencyWindow {
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final long[] samples;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private double cachedFor = -1;
+        private long cachedPercentile;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        private synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            sinceRecompute++;
+        }
+
+        private synchronized long percentile(double p) {
+            if (count < RECOMPUTE_EVERY) {
+                return 0;
+            }
+            if (cachedFor != p || sinceRecompute >= RECOMPUTE_EVERY) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                cachedPercentile = sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)];
+                cachedFor = p;
+                sinceRecompute = 0;
+            }
+            return cachedPercentile;
+        }
+    }
+}
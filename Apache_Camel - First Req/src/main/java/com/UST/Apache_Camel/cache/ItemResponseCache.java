@@ -0,0 +1,107 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.bean.ItemEtagBean;
+import com.UST.Apache_Camel.model.Item;
+import com.UST.Apache_Camel.model.ItemResponse;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Read-through cache of fully built ItemResponse objects and their ETags keyed
+ * by itemId, sitting in front of getItemByIdRoute. Entries are invalidated by
+ * the item write paths and otherwise expire after the configured time to live.
+ * A miss records a cache stamp, and store skips a response whose item was
+ * invalidated while it was being loaded.
+ */
+@Component
+public class ItemResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ItemResponseCache.class);
+
+    private final boolean enabled;
+    private final BoundedTtlCache<String, CachedItemResponse> cache;
+
+    public ItemResponseCache(@Value("${app.cache.itemResponse.enabled:true}") boolean enabled,
+                             @Value("${app.cache.itemResponse.maxSize:5000}") int maxSize,
+                             @Value("${app.cache.itemResponse.ttlSeconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public void lookup(Exchange exchange) {
+        if (!enabled) {
+            return;
+        }
+        String itemId = exchange.getIn().getHeader("itemId", String.class);
+        exchange.setProperty("itemResponseCacheStamp", cache.stamp());
+        CachedItemResponse cached = cache.get(itemId);
+        if (cached != null) {
+            exchange.setProperty("itemResponseCacheHit", true);
+            String ifNoneMatch = exchange.getIn().getHeader(ItemEtagBean.HEADER_IF_NONE_MATCH, String.class);
+            if (ItemEtagBean.matches(ifNoneMatch, cached.etag)) {
+                ItemEtagBean.notModified(exchange, cached.etag);
+            } else {
+                exchange.getIn().setBody(cached.response);
+                exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+                if (cached.etag != null) {
+                    exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG, cached.etag);
+                }
+            }
+            logger.debug("ItemResponse cache hit for item ID: {}", itemId);
+        }
+    }
+
+    public void store(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        Long stamp = exchange.getProperty("itemResponseCacheStamp", Long.class);
+        if (enabled && body instanceof ItemResponse && stamp != null) {
+            ItemResponse response = (ItemResponse) body;
+            if (cache.put(response.getId(), new CachedItemResponse(response,
+                    exchange.getIn().getHeader(ItemEtagBean.HEADER_ETAG, String.class)), stamp)) {
+                logger.debug("Cached ItemResponse for item ID: {}", response.getId());
+            } else {
+                logger.debug("Skipped caching ItemResponse for item ID {} invalidated during the read", response.getId());
+            }
+        }
+    }
+
+    public void invalidate(String itemId) {
+        if (itemId != null) {
+            cache.invalidate(itemId);
+            logger.debug("Invalidated cached ItemResponse for item ID: {}", itemId);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public void invalidateUpdatedItem(Exchange exchange) {
+        invalidate(exchange.getProperty("itemId", String.class));
+    }
+
+    public void invalidateInsertedItem(Exchange exchange) {
+        Item item = exchange.getProperty("validatedItem", Item.class);
+        invalidate(item != null ? item.getId() : null);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = cache.stats();
+        stats.put("enabled", enabled);
+        return stats;
+    }
+
+    private static final class CachedItemResponse {
+        private final ItemResponse response;
+        private final String etag;
+
+        private CachedItemResponse(ItemResponse response, String etag) {
+            this.response = response;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.bean.ItemEtagBean;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight execution of the item and category read routes: concurrent
+ * requests for the same key share one Mongo execution and all receive its
+ * response body and status. Each execution goes through the HedgedReadExecutor.
+ */
+@Component
+public class RequestCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final HedgedReadExecutor hedgedReadExecutor;
+    private final boolean enabled;
+    private final long waitTimeoutMillis;
+
+    private final Map<String, CompletableFuture<CoalescedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong itemExecutions = new AtomicLong();
+    private final AtomicLong itemCollapsed = new AtomicLong();
+    private final AtomicLong categoryExecutions = new AtomicLong();
+    private final AtomicLong categoryCollapsed = new AtomicLong();
+
+    public RequestCoalescer(HedgedReadExecutor hedgedReadExecutor,
+                            @Value("${app.coalescing.enabled:true}") boolean enabled,
+                            @Value("${app.coalescing.waitTimeoutMs:30000}") long waitTimeoutMillis) {
+        this.hedgedReadExecutor = hedgedReadExecutor;
+        this.enabled = enabled;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    public void loadItemById(Exchange exchange) throws Exception {
+        String key = "item:" + exchange.getIn().getHeader("itemId", String.class);
+        execute(key, ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEM_BY_ID,
+                exchange, itemExecutions, itemCollapsed);
+    }
+
+    public void loadItemsByCategory(Exchange exchange) throws Exception {
+        execute(categoryKey(exchange), ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY,
+                exchange, categoryExecutions, categoryCollapsed);
+    }
+
+    public void loadItemsByCategoryPage(Exchange exchange) throws Exception {
+        String key = categoryKey(exchange)
+                + ":limit=" + exchange.getIn().getHeader("limit", String.class)
+                + ":after=" + exchange.getIn().getHeader("after", "", String.class);
+        execute(key, ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY_PAGE,
+                exchange, categoryExecutions, categoryCollapsed);
+    }
+
+    private String categoryKey(Exchange exchange) {
+        return "category:" + exchange.getIn().getHeader("categoryId", String.class)
+                + ":" + Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class))
+                + ":minPrice=" + exchange.getIn().getHeader("minPrice", "", String.class)
+                + ":maxPrice=" + exchange.getIn().getHeader("maxPrice", "", String.class)
+                + ":inStockOnly=" + Boolean.parseBoolean(exchange.getIn().getHeader("inStockOnly", "false", String.class))
+                + ":sort=" + exchange.getIn().getHeader("sort", "", String.class)
+                + ":fields=" + Objects.toString(exchange.getProperty("sparseFields"), "");
+    }
+
+    private void execute(String key, String endpointUri, Exchange exchange,
+                         AtomicLong executions, AtomicLong collapsed) throws Exception {
+        if (!enabled) {
+            hedgedReadExecutor.send(endpointUri, exchange);
+            return;
+        }
+
+        CompletableFuture<CoalescedResponse> future = new CompletableFuture<>();
+        CompletableFuture<CoalescedResponse> leader = inFlight.putIfAbsent(key, future);
+        if (leader == null) {
+            executions.incrementAndGet();
+            try {
+                hedgedReadExecutor.send(endpointUri, exchange);
+                if (exchange.getException() != null) {
+                    future.completeExceptionally(exchange.getException());
+                } else {
+                    future.complete(new CoalescedResponse(exchange));
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+            return;
+        }
+
+        try {
+            CoalescedResponse response = leader.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            collapsed.incrementAndGet();
+            response.applyTo(exchange);
+            logger.debug("Coalesced request for key {} onto in-flight execution", key);
+        } catch (TimeoutException e) {
+            logger.warn("Timed out waiting for in-flight execution of {}, executing directly", key);
+            executions.incrementAndGet();
+            hedgedReadExecutor.send(endpointUri, exchange);
+        } catch (ExecutionException e) {
+            collapsed.incrementAndGet();
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("inFlight", inFlight.size());
+        stats.put("itemExecutions", itemExecutions.get());
+        stats.put("itemCollapsed", itemCollapsed.get());
+        stats.put("categoryExecutions", categoryExecutions.get());
+        stats.put("categoryCollapsed", categoryCollapsed.get());
+        return stats;
+    }
+
+    private static final class CoalescedResponse {
+        private final Object body;
+        private final Integer responseCode;
+        private final String etag;
+
+        private CoalescedResponse(Exchange exchange) {
+            this.body = exchange.getIn().getBody();
+            this.responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+            this.etag = exchange.getIn().getHeader(ItemEtagBean.HEADER_ETAG, String.class);
+        }
+
+        private void applyTo(Exchange exchange) {
+            exchange.getIn().setBody(body);
+            if (responseCode != null) {
+                exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, responseCode);
+            }
+            if (etag != null) {
+                exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG, etag);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.bean.ItemEtagBean;
+import com.UST.Apache_Camel.model.Category;
+import com.UST.Apache_Camel.model.Item;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the final JSON bytes of getItemByIdRoute and getItemsByCategoryRoute,
+ * keyed by route and request params, with a gzip variant for clients sending
+ * Accept-Encoding: gzip. Both GET endpoints run with REST binding off and are
+ * rendered here, so a hit is written to the servlet output without a Jackson
+ * pass or recompression. Entries are invalidated by item and category writes;
+ * a response whose item or category was invalidated while it was being built
+ * is served but not cached.
+ */
+@Component
+public class ResponseBytesCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseBytesCache.class);
+
+    public static final String CONTENT_TYPE_JSON = "application/json";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final BoundedTtlCache<String, CachedBytes> cache;
+
+    public ResponseBytesCache(ObjectMapper objectMapper,
+                              @Value("${app.cache.responseBytes.enabled:true}") boolean enabled,
+                              @Value("${app.cache.responseBytes.maxSize:2000}") int maxSize,
+                              @Value("${app.cache.responseBytes.ttlSeconds:60}") long ttlSeconds,
+                              @Value("${app.cache.responseBytes.gzipMinBytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public void lookupItem(Exchange exchange) {
+        String prefix = itemPrefix(exchange.getIn().getHeader("itemId", String.class));
+        lookup(exchange, prefix, prefix + "fields=" + Objects.toString(exchange.getProperty("sparseFields"), ""));
+    }
+
+    public void lookupCategory(Exchange exchange) {
+        String prefix = categoryPrefix(exchange.getIn().getHeader("categoryId", String.class));
+        lookup(exchange, prefix, prefix + "includeSpecial=" + Boolean.parseBoolean(exchange.getIn().getHeader("includeSpecial", "false", String.class))
+                + ":minPrice=" + exchange.getIn().getHeader("minPrice", "", String.class)
+                + ":maxPrice=" + exchange.getIn().getHeader("maxPrice", "", String.class)
+                + ":inStockOnly=" + Boolean.parseBoolean(exchange.getIn().getHeader("inStockOnly", "false", String.class))
+                + ":sort=" + exchange.getIn().getHeader("sort", "", String.class)
+                + ":limit=" + exchange.getIn().getHeader("limit", "", String.class)
+                + ":after=" + exchange.getIn().getHeader("after", "", String.class)
+                + ":fields=" + Objects.toString(exchange.getProperty("sparseFields"), ""));
+    }
+
+    private void lookup(Exchange exchange, String prefix, String key) {
+        exchange.setProperty("responseBytesKey", key);
+        exchange.setProperty("responseBytesPrefix", prefix);
+        exchange.setProperty("responseBytesStamp", cache.stamp());
+        if (!enabled) {
+            return;
+        }
+        CachedBytes cached = cache.get(key);
+        if (cached == null) {
+            return;
+        }
+
+        exchange.setProperty("responseBytesHit", true);
+        String ifNoneMatch = exchange.getIn().getHeader(ItemEtagBean.HEADER_IF_NONE_MATCH, String.class);
+        if (ItemEtagBean.matches(ifNoneMatch, cached.etag)) {
+            ItemEtagBean.notModified(exchange, cached.etag);
+            return;
+        }
+        if (cached.etag != null) {
+            exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG, cached.etag);
+        }
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        write(exchange, cached);
+        logger.debug("Response bytes cache hit for key: {}", key);
+    }
+
+    /**
+     * Last step of both GET routes: serializes the response once, caches the
+     * bytes of successful responses and writes the plain or gzip variant.
+     * Plain-text error bodies are left as they are.
+     */
+    public void render(Exchange exchange) throws JsonProcessingException {
+        if (exchange.getProperty("responseBytesHit") != null) {
+            return;
+        }
+        Object body = exchange.getIn().getBody();
+        if (body == null || body instanceof String) {
+            // 304 Not Modified, or a plain-text error body from a load route
+            return;
+        }
+
+        CachedBytes rendered = new CachedBytes(objectMapper.writeValueAsBytes(body),
+                exchange.getIn().getHeader(ItemEtagBean.HEADER_ETAG, String.class));
+        Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        String key = exchange.getProperty("responseBytesKey", String.class);
+        Long stamp = exchange.getProperty("responseBytesStamp", Long.class);
+        if (enabled && key != null && stamp != null && (responseCode == null || responseCode == 200)
+                && !cache.put(key, rendered, exchange.getProperty("responseBytesPrefix", String.class), stamp)) {
+            logger.debug("Skipped caching response bytes for key {} invalidated during the read", key);
+        }
+        write(exchange, rendered);
+    }
+
+    private void write(Exchange exchange, CachedBytes cached) {
+        exchange.getIn().setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+        exchange.getIn().setHeader("Vary", "Accept-Encoding");
+
+        // Camel gzips the body itself when the message carries Content-Encoding,
+        // so the precompressed variant is flagged on the servlet response directly.
+        // Without a servlet response (platform-http transport) the plain bytes are sent.
+        HttpServletResponse response = exchange.getIn().getHeader(Exchange.HTTP_SERVLET_RESPONSE, HttpServletResponse.class);
+        if (response != null && acceptsGzip(exchange) && cached.json.length >= gzipMinBytes) {
+            response.setHeader("Content-Encoding", "gzip");
+            exchange.getIn().setBody(cached.gzip());
+        } else {
+            exchange.getIn().setBody(cached.json);
+        }
+    }
+
+    private boolean acceptsGzip(Exchange exchange) {
+        String acceptEncoding = exchange.getIn().getHeader("Accept-Encoding", String.class);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    public void invalidateItem(String itemId, String categoryId) {
+        if (itemId != null) {
+            String itemPrefix = itemPrefix(itemId);
+            cache.invalidateIf(key -> key.startsWith(itemPrefix), List.of(itemPrefix));
+        }
+        invalidateCategory(categoryId);
+    }
+
+    public void invalidateCategory(String categoryId) {
+        if (categoryId != null) {
+            String categoryPrefix = categoryPrefix(categoryId);
+            cache.invalidateIf(key -> key.startsWith(categoryPrefix), List.of(categoryPrefix));
+        }
+    }
+
+    /**
+     * Drops the entries of several items and categories in a single pass over
+     * the cache, used by the bulk inventory update.
+     */
+    public void invalidateItems(Collection<String> itemIds, Collection<String> categoryIds) {
+        List<String> prefixes = new ArrayList<>(itemIds.size() + categoryIds.size());
+        itemIds.forEach(itemId -> prefixes.add(itemPrefix(itemId)));
+        categoryIds.forEach(categoryId -> prefixes.add(categoryPrefix(categoryId)));
+        if (!prefixes.isEmpty()) {
+            cache.invalidateIf(key -> prefixes.stream().anyMatch(key::startsWith), prefixes);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public void invalidateUpdatedItem(Exchange exchange) {
+        Document itemDoc = exchange.getProperty("updatedItem", Document.class);
+        invalidateItem(exchange.getProperty("itemId", String.class),
+                itemDoc != null ? itemDoc.getString("categoryId") : null);
+    }
+
+    public void invalidateInsertedItem(Exchange exchange) {
+        Item item = exchange.getProperty("validatedItem", Item.class);
+        if (item != null) {
+            invalidateItem(item.getId(), item.getCategoryId());
+        }
+    }
+
+    public void invalidateInsertedCategory(Exchange exchange) {
+        Category category = exchange.getProperty("newCategory", Category.class);
+        if (category != null) {
+            invalidateCategory(category.getId());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = cache.stats();
+        stats.put("enabled", enabled);
+        stats.put("gzipMinBytes", gzipMinBytes);
+        return stats;
+    }
+
+    private static String itemPrefix(String itemId) {
+        return "item:" + itemId + ":";
+    }
+
+    private static String categoryPrefix(String categoryId) {
+        return "category:" + categoryId + ":";
+    }
+
+    private static final class CachedBytes {
+        private final byte[] json;
+        private final String etag;
+        private volatile byte[] gzip;
+
+        private CachedBytes(byte[] json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+
+        // Compressed on first gzip request and reused by later hits
+        private byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                    gzipOut.write(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = out.toByteArray();
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.UST.Apache_Camel.cache;
+
+import com.UST.Apache_Camel.model.SearchResponse;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * LRU cache of the first result page of frequent search queries, keyed by the
+ * normalized query, limit and includeSpecial. Later pages are rare and go to Mongo. Entries
+ * are only expired by time, since any item write can change the ranking.
+ */
+@Component
+public class SearchResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final boolean enabled;
+    private final BoundedTtlCache<String, SearchResponse> cache;
+
+    public SearchResultCache(@Value("${app.cache.search.enabled:true}") boolean enabled,
+                             @Value("${app.cache.search.maxSize:500}") int maxSize,
+                             @Value("${app.cache.search.ttlSeconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public void lookup(Exchange exchange) {
+        String key = cacheKey(exchange);
+        if (key == null) {
+            return;
+        }
+        SearchResponse cached = cache.get(key);
+        if (cached != null) {
+            exchange.setProperty("searchCacheHit", true);
+            exchange.getIn().setBody(cached);
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+            logger.debug("Search cache hit for key: {}", key);
+        }
+    }
+
+    public void store(Exchange exchange) {
+        String key = cacheKey(exchange);
+        Object body = exchange.getIn().getBody();
+        if (key != null && body instanceof SearchResponse) {
+            cache.put(key, (SearchResponse) body);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = cache.stats();
+        stats.put("enabled", enabled);
+        return stats;
+    }
+
+    private String cacheKey(Exchange exchange) {
+        String after = exchange.getIn().getHeader("after", String.class);
+        if (!enabled || (after != null && !after.isBlank())) {
+            return null;
+        }
+        return exchange.getProperty("searchQuery", String.class) + ":limit=" + exchange.getProperty("searchLimit")
+                + ":includeSpecial=" + exchange.getProperty("searchIncludeSpecial");
+    }
+}
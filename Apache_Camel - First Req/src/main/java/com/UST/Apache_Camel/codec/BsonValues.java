@@ -0,0 +1,144 @@
+package com.UST.Apache_Camel.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and flag conversions shared by the codecs and by the remaining
+ * Document based readers, so every read path decodes prices the same way.
+ */
+public final class BsonValues {
+
+    private BsonValues() {
+    }
+
+    /**
+     * Decimal128 keeps its exact value; doubles go through their shortest
+     * decimal representation instead of the binary expansion. Values that are
+     * not a finite number give null.
+     */
+    public static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Decimal128) {
+            Decimal128 decimal = (Decimal128) value;
+            return decimal.isFinite() ? decimal.bigDecimalValue() : null;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+        }
+        return parseBigDecimal(value.toString());
+    }
+
+    public static boolean toBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : "true".equalsIgnoreCase(String.valueOf(value));
+    }
+
+    /**
+     * Null for values that are not a finite number, such as a non-numeric
+     * string or a NaN, so one bad price does not fail the whole read.
+     */
+    static BigDecimal readBigDecimal(BsonReader reader) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case DECIMAL128:
+                Decimal128 decimal = reader.readDecimal128();
+                return decimal.isFinite() ? decimal.bigDecimalValue() : null;
+            case DOUBLE:
+                double number = reader.readDouble();
+                return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+            case INT32:
+                return BigDecimal.valueOf(reader.readInt32());
+            case INT64:
+                return BigDecimal.valueOf(reader.readInt64());
+            case STRING:
+                return parseBigDecimal(reader.readString());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static BigDecimal parseBigDecimal(String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Number readNumber(BsonReader reader) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return reader.readDouble();
+            case DECIMAL128:
+                return reader.readDecimal128().bigDecimalValue();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return reader.readString();
+        }
+        if (reader.getCurrentBsonType() == BsonType.OBJECT_ID) {
+            return reader.readObjectId().toHexString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    static boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.BOOLEAN) {
+            return reader.readBoolean();
+        }
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return "true".equalsIgnoreCase(reader.readString());
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    static void writeBigDecimal(BsonWriter writer, String name, BigDecimal value) {
+        if (value != null) {
+            writer.writeDecimal128(name, new Decimal128(value));
+        }
+    }
+
+    static void writeNumber(BsonWriter writer, String name, Number value) {
+        if (value instanceof Integer) {
+            writer.writeInt32(name, value.intValue());
+        } else if (value instanceof Long) {
+            writer.writeInt64(name, value.longValue());
+        } else if (value instanceof BigDecimal) {
+            writer.writeDecimal128(name, new Decimal128((BigDecimal) value));
+        } else if (value != null) {
+            writer.writeDouble(name, value.doubleValue());
+        }
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+}
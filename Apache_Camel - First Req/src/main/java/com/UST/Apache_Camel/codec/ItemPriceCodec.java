@@ -0,0 +1,45 @@
+package com.UST.Apache_Camel.codec;
+
+import com.UST.Apache_Camel.model.ItemPrice;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+public class ItemPriceCodec implements Codec<ItemPrice> {
+
+    @Override
+    public ItemPrice decode(BsonReader reader, DecoderContext decoderContext) {
+        ItemPrice itemPrice = new ItemPrice();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "basePrice":
+                    itemPrice.setBasePrice(BsonValues.readBigDecimal(reader));
+                    break;
+                case "sellingPrice":
+                    itemPrice.setSellingPrice(BsonValues.readBigDecimal(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return itemPrice;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ItemPrice itemPrice, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonValues.writeBigDecimal(writer, "basePrice", itemPrice.getBasePrice());
+        BsonValues.writeBigDecimal(writer, "sellingPrice", itemPrice.getSellingPrice());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<ItemPrice> getEncoderClass() {
+        return ItemPrice.class;
+    }
+}
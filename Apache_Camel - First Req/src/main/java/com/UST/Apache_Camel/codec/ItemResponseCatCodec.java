@@ -0,0 +1,81 @@
+package com.UST.Apache_Camel.codec;
+
+import com.UST.Apache_Camel.model.ItemPrice;
+import com.UST.Apache_Camel.model.ItemResponseCat;
+import com.UST.Apache_Camel.model.StockDetails;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Decodes an item document straight into the category listing model, skipping
+ * fields the listing does not return such as the review array.
+ */
+public class ItemResponseCatCodec implements Codec<ItemResponseCat> {
+
+    private final Codec<ItemPrice> itemPriceCodec;
+    private final Codec<StockDetails> stockDetailsCodec;
+
+    public ItemResponseCatCodec(Codec<ItemPrice> itemPriceCodec, Codec<StockDetails> stockDetailsCodec) {
+        this.itemPriceCodec = itemPriceCodec;
+        this.stockDetailsCodec = stockDetailsCodec;
+    }
+
+    @Override
+    public ItemResponseCat decode(BsonReader reader, DecoderContext decoderContext) {
+        ItemResponseCat item = new ItemResponseCat();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    item.setId(BsonValues.readString(reader));
+                    break;
+                case "itemName":
+                    item.setItemName(BsonValues.readString(reader));
+                    break;
+                case "categoryId":
+                    item.setCategoryId(BsonValues.readString(reader));
+                    break;
+                case "itemPrice":
+                    item.setItemPrice(decoderContext.decodeWithChildContext(itemPriceCodec, reader));
+                    break;
+                case "stockDetails":
+                    item.setStockDetails(decoderContext.decodeWithChildContext(stockDetailsCodec, reader));
+                    break;
+                case "specialProduct":
+                    item.setSpecialProduct(BsonValues.readBoolean(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return item;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ItemResponseCat item, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonValues.writeString(writer, "_id", item.getId());
+        BsonValues.writeString(writer, "itemName", item.getItemName());
+        BsonValues.writeString(writer, "categoryId", item.getCategoryId());
+        if (item.getItemPrice() != null) {
+            writer.writeName("itemPrice");
+            encoderContext.encodeWithChildContext(itemPriceCodec, writer, item.getItemPrice());
+        }
+        if (item.getStockDetails() != null) {
+            writer.writeName("stockDetails");
+            encoderContext.encodeWithChildContext(stockDetailsCodec, writer, item.getStockDetails());
+        }
+        writer.writeBoolean("specialProduct", item.isSpecialProduct());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<ItemResponseCat> getEncoderClass() {
+        return ItemResponseCat.class;
+    }
+}
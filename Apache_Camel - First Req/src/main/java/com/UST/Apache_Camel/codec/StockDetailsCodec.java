@@ -0,0 +1,45 @@
+package com.UST.Apache_Camel.codec;
+
+import com.UST.Apache_Camel.model.StockDetails;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+public class StockDetailsCodec implements Codec<StockDetails> {
+
+    @Override
+    public StockDetails decode(BsonReader reader, DecoderContext decoderContext) {
+        StockDetails stockDetails = new StockDetails();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "availableStock":
+                    stockDetails.setAvailableStock(BsonValues.readNumber(reader));
+                    break;
+                case "unitOfMeasure":
+                    stockDetails.setUnitOfMeasure(BsonValues.readString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return stockDetails;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, StockDetails stockDetails, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonValues.writeNumber(writer, "availableStock", stockDetails.getAvailableStock());
+        BsonValues.writeString(writer, "unitOfMeasure", stockDetails.getUnitOfMeasure());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<StockDetails> getEncoderClass() {
+        return StockDetails.class;
+    }
+}
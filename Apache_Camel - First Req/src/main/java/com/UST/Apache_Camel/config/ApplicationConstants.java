@@ -11,8 +11,11 @@ public final class ApplicationConstants {
     public static final String MONGO_CATEGORY_READ_COLLECTION = "category";
     public static final String MONGO_CATEGORY_WRITE_COLLECTION = "category";
     public static final String MONGO_INVENTORY_AUDIT_WRITE_COLLECTION = "inventory_audit";
+    public static final String MONGO_ITEM_VIEW_COLLECTION = "item_view";
+    public static final String MONGO_CATEGORY_STATS_COLLECTION = "category_stats";
 
     public static final String MONGO_ITEM_FIND_BY_ID = "mongodb:mongoClient?database=%s&collection=%s&operation=findById";
+    public static final String MONGO_ITEM_FIND_ALL = "mongodb:mongoClient?database=%s&collection=%s&operation=findAll";
     public static final String MONGO_ITEM_AGGREGATE = "mongodb:mongoClient?database=%s&collection=%s&operation=aggregate";
     public static final String MONGO_ITEM_INSERT = "mongodb:mongoClient?database=%s&collection=%s&operation=insert";
     public static final String MONGO_ITEM_SAVE = "mongodb:mongoClient?database=%s&collection=%s&operation=save";
@@ -20,9 +23,22 @@ public final class ApplicationConstants {
     public static final String MONGO_CATEGORY_FIND_BY_ID = "mongodb:mongoClient?database=%s&collection=%s&operation=findById";
     public static final String MONGO_CATEGORY_INSERT = "mongodb:mongoClient?database=%s&collection=%s&operation=insert";
     public static final String MONGO_CATEGORY_DELETE = "mongodb:mongoClient?database=%s&collection=%s&operation=remove";
+    // GET routes read through the readMongoClient and its configured read preference
+    public static final String MONGO_READ_FIND_BY_ID = "mongodb:readMongoClient?mongoConnection=#readMongoClient&database=%s&collection=%s&operation=findById";
+    public static final String MONGO_READ_AGGREGATE = "mongodb:readMongoClient?mongoConnection=#readMongoClient&database=%s&collection=%s&operation=aggregate";
+    // Non-blocking variants of the GET route reads, see ReactiveMongoComponent
+    public static final String MONGO_REACTIVE_FIND_BY_ID = "reactivemongo:readMongoClient?database=%s&collection=%s&operation=findById";
+    public static final String MONGO_REACTIVE_AGGREGATE = "reactivemongo:readMongoClient?database=%s&collection=%s&operation=aggregate";
     public static final String MONGO_INVENTORY_AUDIT_AGGREGATE = "mongodb:myMongoBean?database=%s&collection=%s&operation=aggregate";
     public static final String MONGO_INVENTORY_AUDIT_INSERT = "mongodb:myMongoBean?database=%s&collection=%s&operation=insert";
 
+    public static final String MONGO_ITEM_RESPONSE_PROJECTION = "{\"itemName\": 1, \"categoryId\": 1, \"itemPrice\": 1, "
+            + "\"stockDetails.availableStock\": 1, \"stockDetails.unitOfMeasure\": 1, \"specialProduct\": 1, \"lastUpdateDate\": 1}";
+
+    public static final String TIMER_CATEGORY_CACHE_REFRESH = "timer:categoryCacheRefresh?delay=0&period=%d";
+    public static final String TIMER_CATEGORY_STATS_RECOMPUTE = "timer:categoryStatsRecompute?delay=%d&period=%d";
+    public static final String TIMER_ITEM_VIEW_RECONCILE = "timer:itemViewReconcile?delay=%d&period=%d";
+
     public static final String AMQ_INVENTORY_UPDATE_WRITE_QUEUE = "inventory.update.queue";
     public static final String AMQ_INVENTORY_UPDATE_READ_QUEUE = "inventory.update.queue";
     public static final String AMQ_INVENTORY_UPDATE_WRITE = "activemq:queue:%s?exchangePattern=InOnly&deliveryMode=2";
@@ -31,12 +47,18 @@ public final class ApplicationConstants {
     public static final String REST_HOST = "0.0.0.0";
     public static final String REST_PORT = "8080";
     public static final String REST_COMPONENT = "servlet";
+    public static final String REST_COMPONENT_PLATFORM_HTTP = "platform-http";
+
+    public static final String HTTP_TRANSPORT_SERVLET = "servlet";
+    public static final String HTTP_TRANSPORT_VERTX = "vertx";
 
     public static final String ERROR_ITEM_NOT_FOUND = "Item not found";
     public static final String ERROR_CATEGORY_NOT_FOUND = "Category is invalid";
     public static final String ERROR_ITEM_ALREADY_EXISTS = "Item already exists";
     public static final String ERROR_CATEGORY_ALREADY_EXISTS = "Category already exists";
 
+    public static final int MONGO_DUPLICATE_KEY_ERROR = 11000;
+
     public static final String DIRECT_PREFIX = "direct:";
     public static final String SEDA_PREFIX = "seda:";
 
@@ -50,6 +72,24 @@ public final class ApplicationConstants {
     public static final String ROUTE_UPDATE_INVENTORY = "updateInventoryRoute";
     public static final String ROUTE_ASYNC_INVENTORY_UPDATE = "asyncInventoryUpdateRoute";
     public static final String ROUTE_PROCESS_INVENTORY_QUEUE = "processInventoryQueueRoute";
+    public static final String ROUTE_REFRESH_CATEGORY_CACHE = "refreshCategoryCacheRoute";
+    public static final String ROUTE_LOAD_ITEM_BY_ID = "loadItemByIdRoute";
+    public static final String ROUTE_LOAD_ITEMS_BY_CATEGORY = "loadItemsByCategoryRoute";
+    public static final String ROUTE_LOAD_ITEMS_BY_CATEGORY_PAGE = "loadItemsByCategoryPageRoute";
+    public static final String ROUTE_STREAM_ITEMS_BY_CATEGORY = "streamItemsByCategoryRoute";
+    public static final String ROUTE_GET_CACHE_STATS = "getCacheStatsRoute";
+    public static final String ROUTE_GET_ITEMS_BATCH = "getItemsBatchRoute";
+    public static final String ROUTE_PROJECT_ITEM_VIEW = "projectItemViewRoute";
+    public static final String ROUTE_REBUILD_ITEM_VIEW = "rebuildItemViewRoute";
+    public static final String ROUTE_ITEM_INSERTED = "itemInsertedRoute";
+    public static final String ROUTE_CATEGORY_INSERTED = "categoryInsertedRoute";
+    public static final String ROUTE_RECONCILE_ITEM_VIEW = "reconcileItemViewRoute";
+    public static final String ROUTE_SEARCH_ITEMS = "searchItemsRoute";
+    public static final String ROUTE_BULK_IMPORT_ITEMS = "bulkImportItemsRoute";
+    public static final String ROUTE_BULK_IMPORT_CATEGORIES = "bulkImportCategoriesRoute";
+    public static final String ROUTE_GET_CATEGORY_SUMMARY = "getCategorySummaryRoute";
+    public static final String ROUTE_RECOMPUTE_CATEGORY_STATS = "recomputeCategoryStatsRoute";
+    public static final String ROUTE_SCHEDULED_CATEGORY_STATS_RECOMPUTE = "scheduledCategoryStatsRecomputeRoute";
 
     public static final String ENDPOINT_GET_ITEM_BY_ID = "getItemById";
     public static final String ENDPOINT_GET_ITEMS_BY_CATEGORY = "getItemsByCategory";
@@ -60,4 +100,19 @@ public final class ApplicationConstants {
     public static final String ENDPOINT_PROCESS_INVENTORY_UPDATE = "processInventoryUpdate";
     public static final String ENDPOINT_UPDATE_INVENTORY = "updateInventory";
     public static final String ENDPOINT_ASYNC_INVENTORY_UPDATE = "asyncInventoryUpdate";
+    public static final String ENDPOINT_LOAD_ITEM_BY_ID = "loadItemById";
+    public static final String ENDPOINT_LOAD_ITEMS_BY_CATEGORY = "loadItemsByCategory";
+    public static final String ENDPOINT_LOAD_ITEMS_BY_CATEGORY_PAGE = "loadItemsByCategoryPage";
+    public static final String ENDPOINT_STREAM_ITEMS_BY_CATEGORY = "streamItemsByCategory";
+    public static final String ENDPOINT_GET_CACHE_STATS = "getCacheStats";
+    public static final String ENDPOINT_GET_ITEMS_BATCH = "getItemsBatch";
+    public static final String ENDPOINT_PROJECT_ITEM_VIEW = "projectItemView";
+    public static final String ENDPOINT_REBUILD_ITEM_VIEW = "rebuildItemView";
+    public static final String ENDPOINT_ITEM_INSERTED = "itemInserted";
+    public static final String ENDPOINT_CATEGORY_INSERTED = "categoryInserted";
+    public static final String ENDPOINT_SEARCH_ITEMS = "searchItems";
+    public static final String ENDPOINT_BULK_IMPORT_ITEMS = "bulkImportItems";
+    public static final String ENDPOINT_BULK_IMPORT_CATEGORIES = "bulkImportCategories";
+    public static final String ENDPOINT_GET_CATEGORY_SUMMARY = "getCategorySummary";
+    public static final String ENDPOINT_RECOMPUTE_CATEGORY_STATS = "recomputeCategoryStats";
 }
\ No newline at end of file
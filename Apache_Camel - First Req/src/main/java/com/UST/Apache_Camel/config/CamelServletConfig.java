@@ -1,18 +1,25 @@
 package com.UST.Apache_Camel.config;
 
 import org.apache.camel.component.servlet.CamelHttpTransportServlet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "app.http.transport", havingValue = ApplicationConstants.HTTP_TRANSPORT_SERVLET, matchIfMissing = true)
 public class CamelServletConfig {
 
     @Bean
-    public ServletRegistrationBean<CamelHttpTransportServlet> servletRegistrationBean() {
+    public ServletRegistrationBean<CamelHttpTransportServlet> servletRegistrationBean(
+            @Value("${app.reactive.enabled:false}") boolean reactiveReads) {
         ServletRegistrationBean<CamelHttpTransportServlet> registration =
             new ServletRegistrationBean<>(new CamelHttpTransportServlet(), "/camel/*");
         registration.setName("CamelServlet");
+        // Servlet 3 async requests, so the Tomcat thread is returned while a reactive read is in flight
+        registration.setAsyncSupported(true);
+        registration.addInitParameter("async", String.valueOf(reactiveReads));
         return registration;
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.UST.Apache_Camel.config;
+
+import com.UST.Apache_Camel.codec.ItemPriceCodec;
+import com.UST.Apache_Camel.codec.ItemResponseCatCodec;
+import com.UST.Apache_Camel.codec.StockDetailsCodec;
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the item response codecs on the auto-configured MongoClient so the
+ * category stream can decode straight into ItemResponseCat. Document decoding,
+ * used by the Camel mongodb endpoints and every other read, is unchanged.
+ */
+@Configuration
+public class MongoCodecConfig {
+
+    public static CodecRegistry itemCodecRegistry() {
+        ItemPriceCodec itemPriceCodec = new ItemPriceCodec();
+        StockDetailsCodec stockDetailsCodec = new StockDetailsCodec();
+        return CodecRegistries.fromRegistries(
+                MongoClientSettings.getDefaultCodecRegistry(),
+                CodecRegistries.fromCodecs(
+                        itemPriceCodec,
+                        stockDetailsCodec,
+                        new ItemResponseCatCodec(itemPriceCodec, stockDetailsCodec)));
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer itemCodecRegistryCustomizer() {
+        return builder -> builder.codecRegistry(itemCodecRegistry());
+    }
+}
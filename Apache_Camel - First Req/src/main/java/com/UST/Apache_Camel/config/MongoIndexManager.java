@@ -0,0 +1,208 @@
+package com.UST.Apache_Camel.config;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declares the indexes required by the canonical queries against mycartdb,
+ * creates them idempotently at startup and verifies with explain() that none
+ * of those queries falls back to a collection scan.
+ */
+@Component
+public class MongoIndexManager {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private static final String EXPLAIN_PROBE = "__explain__";
+
+    private final MongoClient mongoClient;
+    private final ApplicationContext applicationContext;
+    private final boolean enabled;
+    private final boolean failReadinessOnCollscan;
+
+    public MongoIndexManager(MongoClient mongoClient, ApplicationContext applicationContext,
+                             @Value("${app.mongo.indexes.enabled:true}") boolean enabled,
+                             @Value("${app.mongo.indexes.failReadinessOnCollscan:false}") boolean failReadinessOnCollscan) {
+        this.mongoClient = mongoClient;
+        this.applicationContext = applicationContext;
+        this.enabled = enabled;
+        this.failReadinessOnCollscan = failReadinessOnCollscan;
+    }
+
+    List<IndexSpec> requiredIndexes() {
+        List<IndexSpec> indexes = new ArrayList<>();
+        // getItemsByCategoryRoute: {categoryId, specialProduct}, paged and streamed in _id order
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "_id"), "categoryId_specialProduct_id"));
+        // includeSpecial=true listings match on categoryId alone
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Indexes.ascending("categoryId", "_id"), "categoryId_id"));
+        // Price range and price/name sort of a category listing, _id as keyset tie-breaker
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "itemPrice.sellingPrice", "_id"),
+                "categoryId_specialProduct_sellingPrice_id"));
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "itemName", "_id"),
+                "categoryId_specialProduct_itemName_id"));
+        // item_view listings use the same match and sort as the item collection
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "_id"), "categoryId_specialProduct_id"));
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.ascending("categoryId", "_id"), "categoryId_id"));
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "itemPrice.sellingPrice", "_id"),
+                "categoryId_specialProduct_sellingPrice_id"));
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.ascending("categoryId", "specialProduct", "itemName", "_id"),
+                "categoryId_specialProduct_itemName_id"));
+        // GET /mycart/search, itemName weighted above the embedded category name
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.compoundIndex(Indexes.text("itemName"), Indexes.text("categoryName")),
+                "itemName_categoryName_text", new Document("itemName", 10).append("categoryName", 2)));
+        // item_view rebuild removes documents by projectedAt
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Indexes.ascending("projectedAt"), "projectedAt"));
+        // fileExport incremental query on lastUpdateDate
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Indexes.ascending("lastUpdateDate"), "lastUpdateDate"));
+        // Second Req audit lookup by correlationId
+        indexes.add(new IndexSpec(ApplicationConstants.MONGO_INVENTORY_AUDIT_WRITE_COLLECTION,
+                Indexes.ascending("correlationId"), "correlationId"));
+        return indexes;
+    }
+
+    List<CanonicalQuery> canonicalQueries() {
+        List<CanonicalQuery> queries = new ArrayList<>();
+        queries.add(new CanonicalQuery("items by category without specials", ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Filters.and(Filters.eq("categoryId", EXPLAIN_PROBE), Filters.eq("specialProduct", false)),
+                Sorts.ascending("_id")));
+        queries.add(new CanonicalQuery("items by category with specials", ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Filters.eq("categoryId", EXPLAIN_PROBE), Sorts.ascending("_id")));
+        queries.add(new CanonicalQuery("items by category in price range sorted by price", ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Filters.and(Filters.eq("categoryId", EXPLAIN_PROBE), Filters.eq("specialProduct", false),
+                        Filters.gte("itemPrice.sellingPrice", 0), Filters.lte("itemPrice.sellingPrice", 100)),
+                Sorts.ascending("itemPrice.sellingPrice", "_id")));
+        queries.add(new CanonicalQuery("item search by text", ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION,
+                Filters.text(EXPLAIN_PROBE), null));
+        queries.add(new CanonicalQuery("items updated since last export", ApplicationConstants.MONGO_ITEM_READ_COLLECTION,
+                Filters.gt("lastUpdateDate", "1970-01-01 00:00:00"), null));
+        queries.add(new CanonicalQuery("inventory audit by correlationId", ApplicationConstants.MONGO_INVENTORY_AUDIT_WRITE_COLLECTION,
+                Filters.eq("correlationId", EXPLAIN_PROBE), null));
+        return queries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionIndexes() {
+        if (!enabled) {
+            logger.info("Mongo index provisioning is disabled");
+            return;
+        }
+
+        MongoDatabase database = mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE);
+        for (IndexSpec index : requiredIndexes()) {
+            try {
+                database.getCollection(index.collection)
+                        .createIndex(index.keys, new IndexOptions().name(index.name).background(true).weights(index.weights));
+                logger.info("Ensured index {} on collection {}", index.name, index.collection);
+            } catch (MongoException e) {
+                logger.error("Failed to create index {} on collection {}: {}", index.name, index.collection, e.getMessage());
+            }
+        }
+
+        List<String> collectionScans = new ArrayList<>();
+        for (CanonicalQuery query : canonicalQueries()) {
+            try {
+                Document plan = database.getCollection(query.collection)
+                        .find(query.filter)
+                        .sort(query.sort)
+                        .explain();
+                Object winningPlan = plan.get("queryPlanner", Document.class) != null
+                        ? plan.get("queryPlanner", Document.class).get("winningPlan") : null;
+                if (containsCollectionScan(winningPlan)) {
+                    collectionScans.add(query.description);
+                    logger.warn("Query '{}' on collection {} uses a COLLSCAN: {}", query.description, query.collection, winningPlan);
+                } else {
+                    logger.info("Query '{}' on collection {} is index backed", query.description, query.collection);
+                }
+            } catch (MongoException e) {
+                logger.error("Failed to explain query '{}' on collection {}: {}", query.description, query.collection, e.getMessage());
+            }
+        }
+
+        if (!collectionScans.isEmpty() && failReadinessOnCollscan) {
+            logger.error("Refusing traffic, queries fall back to collection scans: {}", collectionScans);
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private boolean containsCollectionScan(Object planNode) {
+        if (planNode instanceof Document) {
+            Document stage = (Document) planNode;
+            if ("COLLSCAN".equals(stage.getString("stage"))) {
+                return true;
+            }
+            for (Object child : stage.values()) {
+                if (containsCollectionScan(child)) {
+                    return true;
+                }
+            }
+        } else if (planNode instanceof List) {
+            for (Object child : (List<?>) planNode) {
+                if (containsCollectionScan(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static final class IndexSpec {
+        private final String collection;
+        private final Bson keys;
+        private final String name;
+        private final Bson weights;
+
+        IndexSpec(String collection, Bson keys, String name) {
+            this(collection, keys, name, null);
+        }
+
+        IndexSpec(String collection, Bson keys, String name, Bson weights) {
+            this.collection = collection;
+            this.keys = keys;
+            this.name = name;
+            this.weights = weights;
+        }
+    }
+
+    static final class CanonicalQuery {
+        private final String description;
+        private final String collection;
+        private final Bson filter;
+        private final Bson sort;
+
+        CanonicalQuery(String description, String collection, Bson filter, Bson sort) {
+            this.description = description;
+            this.collection = collection;
+            this.filter = filter;
+            this.sort = sort;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.UST.Apache_Camel.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separate MongoClient for the GET routes, configured with the read preference
+ * and maxStaleness from app.mongo.read.*. Writes and read-before-write keep
+ * using the primary mongoClient. The default is primary: the response caches
+ * rely on reads that follow an invalidation seeing the write behind it.
+ * <p>
+ * The client is bound in the Camel registry as readMongoClient instead of
+ * being declared as a Spring bean, because a second MongoClient bean would
+ * switch off the auto-configured one.
+ */
+@Component
+public class ReadMongoClient implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReadMongoClient.class);
+
+    public static final String REGISTRY_NAME = "readMongoClient";
+
+    // Server-side minimum for maxStalenessSeconds
+    private static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    private final MongoClient client;
+    private final ReadPreference readPreference;
+
+    public ReadMongoClient(CamelContext camelContext,
+                           @Value("${app.mongo.read.uri:${spring.data.mongodb.uri}}") String uri,
+                           @Value("${app.mongo.read.preference:primary}") String preference,
+                           @Value("${app.mongo.read.maxStalenessSeconds:0}") long maxStalenessSeconds) {
+        this.readPreference = resolveReadPreference(preference, maxStalenessSeconds);
+        this.client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .readPreference(readPreference)
+                .codecRegistry(MongoCodecConfig.itemCodecRegistry())
+                .build());
+        camelContext.getRegistry().bind(REGISTRY_NAME, MongoClient.class, client);
+        logger.info("Read MongoClient bound as {} with read preference {}", REGISTRY_NAME, readPreference);
+        if (!ReadPreference.primary().equals(readPreference)) {
+            logger.warn("GET routes read with {}: responses can trail writes and be cached stale until their TTL",
+                    readPreference);
+        }
+    }
+
+    static ReadPreference resolveReadPreference(String preference, long maxStalenessSeconds) {
+        ReadPreference base = ReadPreference.valueOf(preference);
+        if (ReadPreference.primary().equals(base) || maxStalenessSeconds <= 0) {
+            return base;
+        }
+        if (maxStalenessSeconds < MIN_MAX_STALENESS_SECONDS) {
+            logger.warn("maxStalenessSeconds {} is below the server minimum, using {}",
+                    maxStalenessSeconds, MIN_MAX_STALENESS_SECONDS);
+            maxStalenessSeconds = MIN_MAX_STALENESS_SECONDS;
+        }
+        return ReadPreference.valueOf(base.getName(), List.of(), maxStalenessSeconds, TimeUnit.SECONDS);
+    }
+
+    public MongoClient client() {
+        return client;
+    }
+
+    public ReadPreference readPreference() {
+        return readPreference;
+    }
+
+    @Override
+    public void destroy() {
+        client.close();
+    }
+}
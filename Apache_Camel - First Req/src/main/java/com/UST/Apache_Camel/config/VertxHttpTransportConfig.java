@@ -0,0 +1,64 @@
+package com.UST.Apache_Camel.config;
+
+import io.vertx.core.VertxOptions;
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServer;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServerConfiguration;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the rest() DSL from a Vert.x server through the platform-http
+ * component instead of CamelHttpTransportServlet, selected with
+ * app.http.transport=vertx.
+ * <p>
+ * The platform-http consumer hands every request to a Vert.x worker thread
+ * (executeBlocking), 20 by default. A route that blocks on the sync driver or a
+ * retry backoff keeps its worker for the whole request, just like a Tomcat
+ * thread, so the worker pool is sized with app.http.vertx.workerPoolSize. Only
+ * the reads switched to the reactive driver by app.reactive.enabled=true give
+ * the worker back while Mongo answers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.http.transport", havingValue = ApplicationConstants.HTTP_TRANSPORT_VERTX)
+public class VertxHttpTransportConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VertxHttpTransportConfig.class);
+
+    @Bean
+    public CamelContextConfiguration vertxHttpServerConfiguration(
+            @Value("${app.http.vertx.host:0.0.0.0}") String host,
+            @Value("${app.http.vertx.port:8082}") int port,
+            @Value("${app.http.vertx.workerPoolSize:200}") int workerPoolSize,
+            @Value("${app.reactive.enabled:false}") boolean reactiveReads) {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                VertxPlatformHttpServerConfiguration configuration = new VertxPlatformHttpServerConfiguration();
+                configuration.setBindHost(host);
+                configuration.setBindPort(port);
+                // VertxPlatformHttpServer creates its Vertx from the VertxOptions in the registry
+                camelContext.getRegistry().bind("vertxOptions",
+                        new VertxOptions().setWorkerPoolSize(workerPoolSize));
+                try {
+                    camelContext.addService(new VertxPlatformHttpServer(configuration));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to add the Vert.x platform-http server", e);
+                }
+                logger.info("Vert.x platform-http server configured on {}:{} with {} worker threads", host, port,
+                        workerPoolSize);
+                if (!reactiveReads) {
+                    logger.info("app.reactive.enabled=false, every request holds a Vert.x worker thread until it completes");
+                }
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+            }
+        };
+    }
+}
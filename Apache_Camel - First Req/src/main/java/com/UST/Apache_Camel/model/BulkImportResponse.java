@@ -0,0 +1,45 @@
+package com.UST.Apache_Camel.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResponse {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkImportResult> results;
+
+    public BulkImportResponse() {
+        this.results = new ArrayList<>();
+    }
+
+    public void add(BulkImportResult result) {
+        results.add(result);
+        received++;
+        if (BulkImportResult.STATUS_CREATED.equals(result.getStatus())) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<BulkImportResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkImportResult> results) {
+        this.results = results;
+    }
+}
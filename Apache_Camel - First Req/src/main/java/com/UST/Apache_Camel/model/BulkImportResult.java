@@ -0,0 +1,53 @@
+package com.UST.Apache_Camel.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResult {
+    public static final String STATUS_CREATED = "created";
+    public static final String STATUS_ERROR = "error";
+
+    private int line;
+    private String id;
+    private String status;
+    private String message;
+
+    public BulkImportResult(int line, String id, String status, String message) {
+        this.line = line;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -1,5 +1,7 @@
 package com.UST.Apache_Camel.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,6 +9,8 @@ public class CategoryItemsResponse {
     private String categoryName;
     private String categoryDepartment;
     private List<ItemResponseCat> items;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
 
     public CategoryItemsResponse() {
         this.items = new ArrayList<>();
@@ -41,4 +45,12 @@ public class CategoryItemsResponse {
     public void setItems(List<ItemResponseCat> items) {
         this.items = items;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.UST.Apache_Camel.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class CategorySummaryResponse {
+    private String categoryId;
+    private String categoryName;
+    private long itemCount;
+    private long totalAvailableStock;
+    private BigDecimal stockValue;
+    private long specialProductCount;
+    private Date updatedAt;
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(String categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public long getTotalAvailableStock() {
+        return totalAvailableStock;
+    }
+
+    public void setTotalAvailableStock(long totalAvailableStock) {
+        this.totalAvailableStock = totalAvailableStock;
+    }
+
+    public BigDecimal getStockValue() {
+        return stockValue;
+    }
+
+    public void setStockValue(BigDecimal stockValue) {
+        this.stockValue = stockValue;
+    }
+
+    public long getSpecialProductCount() {
+        return specialProductCount;
+    }
+
+    public void setSpecialProductCount(long specialProductCount) {
+        this.specialProductCount = specialProductCount;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.UST.Apache_Camel.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ItemBatchResponse {
+    private Map<String, ItemResponse> items;
+    private List<String> missing;
+
+    public ItemBatchResponse() {
+        this.items = new LinkedHashMap<>();
+        this.missing = new ArrayList<>();
+    }
+
+    public Map<String, ItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(Map<String, ItemResponse> items) {
+        this.items = items;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+}
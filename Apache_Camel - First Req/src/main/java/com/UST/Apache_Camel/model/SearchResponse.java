@@ -0,0 +1,46 @@
+package com.UST.Apache_Camel.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchResponse {
+    private String query;
+    private List<ItemResponse> items;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
+
+    public SearchResponse() {
+        this.items = new ArrayList<>();
+    }
+
+    public SearchResponse(String query, List<ItemResponse> items) {
+        this.query = query;
+        this.items = items != null ? items : new ArrayList<>();
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<ItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+}
@@ -0,0 +1,35 @@
+package com.UST.Apache_Camel.processors;
+
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+
+/**
+ * Matches a caught exception caused by an E11000 duplicate key error, used by
+ * the insert-only create routes to turn a lost insert race into the
+ * "already exists" response.
+ */
+public class DuplicateKeyPredicate implements Predicate {
+
+    @Override
+    public boolean matches(Exchange exchange) {
+        Throwable cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Throwable.class);
+        while (cause != null) {
+            if (cause instanceof MongoBulkWriteException) {
+                for (BulkWriteError writeError : ((MongoBulkWriteException) cause).getWriteErrors()) {
+                    if (writeError.getCode() == ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR) {
+                        return true;
+                    }
+                }
+            } else if (cause instanceof MongoException
+                    && ((MongoException) cause).getCode() == ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
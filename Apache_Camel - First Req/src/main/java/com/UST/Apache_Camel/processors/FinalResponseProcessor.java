@@ -24,7 +24,8 @@ public class FinalResponseProcessor implements Processor {
         logger.info("Final response itemResults: {}, status: {}", itemResults, status);
         exchange.getMessage().setBody(Map.of(
                 "status", status,
-                "results", itemResults
+                "results", itemResults,
+                "coalescedEntries", exchange.getProperty("coalescedEntries", 0, Integer.class)
         ));
         exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
     }
@@ -0,0 +1,319 @@
+package com.UST.Apache_Camel.projection;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.codec.BsonValues;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import com.UST.Apache_Camel.model.CategorySummaryResponse;
+import com.UST.Apache_Camel.model.Item;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.apache.camel.Exchange;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-category rollups in category_stats: item count, total available stock,
+ * stock value (sellingPrice x availableStock) and special product count.
+ * <p>
+ * The write routes apply $inc deltas after their write succeeds. A failed
+ * delta is only logged, and the periodic recompute rebuilds every rollup from
+ * the item collection to repair drift, including stock changes made outside
+ * this service.
+ * <p>
+ * recomputedAt marks the start of the last recompute. A delta whose write
+ * completed before it is already in the recomputed values, so it is skipped.
+ */
+@Component
+public class CategoryStatsRollup {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryStatsRollup.class);
+
+    private static final List<String> COUNTERS = List.of("itemCount", "totalAvailableStock", "stockValue", "specialProductCount");
+
+    private final MongoClient mongoClient;
+    private final MongoClient readClient;
+    private final CategoryCache categoryCache;
+
+    private final AtomicLong appliedDeltas = new AtomicLong();
+    private final AtomicLong failedDeltas = new AtomicLong();
+    private final AtomicLong skippedDeltas = new AtomicLong();
+    private final AtomicLong lastRecomputedAt = new AtomicLong();
+
+    public CategoryStatsRollup(MongoClient mongoClient, ReadMongoClient readMongoClient, CategoryCache categoryCache) {
+        this.mongoClient = mongoClient;
+        this.readClient = readMongoClient.client();
+        this.categoryCache = categoryCache;
+    }
+
+    public void applyInsertedItem(Exchange exchange) {
+        Item item = exchange.getProperty("validatedItem", Item.class);
+        if (item != null) {
+            applyInsertedItems(List.of(item));
+        }
+    }
+
+    /**
+     * One $inc per category for a batch of inserted items.
+     */
+    public void applyInsertedItems(Collection<Item> items) {
+        Date writtenAt = new Date();
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (Item item : items) {
+            if (item.getCategoryId() == null) {
+                continue;
+            }
+            long availableStock = item.getStockDetails() != null && item.getStockDetails().getAvailableStock() != null
+                    ? item.getStockDetails().getAvailableStock().longValue() : 0;
+            BigDecimal sellingPrice = item.getItemPrice() != null ? item.getItemPrice().getSellingPrice() : null;
+            Delta delta = deltas.computeIfAbsent(item.getCategoryId(), id -> new Delta());
+            delta.itemCount++;
+            delta.availableStock += availableStock;
+            delta.stockValue = delta.stockValue.add(stockValue(sellingPrice, availableStock));
+            delta.specialProducts += item.isSpecialProduct() ? 1 : 0;
+        }
+        deltas.forEach((categoryId, delta) -> applyDelta(categoryId, writtenAt, delta.itemCount, delta.availableStock,
+                delta.stockValue, delta.specialProducts));
+    }
+
+    /**
+     * Applies the stock delta recorded by ItemBean.validateAndUpdateItem once
+     * the updated item has been saved.
+     */
+    public void applyStockChange(Exchange exchange) {
+        Document itemDoc = exchange.getProperty("updatedItem", Document.class);
+        Integer stockDelta = exchange.getProperty("stockDelta", Integer.class);
+        if (itemDoc == null || stockDelta == null || stockDelta == 0) {
+            return;
+        }
+        applyStockChanges(List.of(itemDoc), Map.of(String.valueOf(itemDoc.get("_id")), stockDelta));
+    }
+
+    /**
+     * One $inc per category for a batch of stock changes, keyed by item _id.
+     */
+    public void applyStockChanges(Collection<Document> itemDocs, Map<String, Integer> stockDeltas) {
+        Date writtenAt = new Date();
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (Document itemDoc : itemDocs) {
+            Integer stockDelta = stockDeltas.get(String.valueOf(itemDoc.get("_id")));
+            if (itemDoc.getString("categoryId") == null || stockDelta == null || stockDelta == 0) {
+                continue;
+            }
+            Document priceDoc = itemDoc.get("itemPrice", Document.class);
+            BigDecimal sellingPrice = priceDoc != null ? BsonValues.toBigDecimal(priceDoc.get("sellingPrice")) : null;
+            Delta delta = deltas.computeIfAbsent(itemDoc.getString("categoryId"), id -> new Delta());
+            delta.availableStock += stockDelta;
+            delta.stockValue = delta.stockValue.add(stockValue(sellingPrice, stockDelta));
+        }
+        deltas.forEach((categoryId, delta) -> applyDelta(categoryId, writtenAt, 0, delta.availableStock, delta.stockValue, 0));
+    }
+
+    /**
+     * writtenAt is taken after the item write returned, so a recomputedAt
+     * later than it means the recompute already counted the write.
+     */
+    private void applyDelta(String categoryId, Date writtenAt, long itemCount, long availableStock,
+                            BigDecimal stockValue, long specialProducts) {
+        if (categoryId == null) {
+            return;
+        }
+        try {
+            statsCollection().updateOne(Filters.and(Filters.eq("_id", categoryId),
+                    Filters.not(Filters.gt("recomputedAt", writtenAt))), Updates.combine(
+                    Updates.inc("itemCount", itemCount),
+                    Updates.inc("totalAvailableStock", availableStock),
+                    Updates.inc("stockValue", new Decimal128(stockValue)),
+                    Updates.inc("specialProductCount", specialProducts),
+                    Updates.set("updatedAt", new Date())), new UpdateOptions().upsert(true));
+            appliedDeltas.incrementAndGet();
+        } catch (MongoException e) {
+            if (e.getCode() == ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR) {
+                // The filter missed on recomputedAt and the upsert hit the existing rollup
+                skippedDeltas.incrementAndGet();
+                logger.debug("Skipped category_stats delta for categoryId {} counted by the recompute", categoryId);
+                return;
+            }
+            // The item write has already succeeded; the next recompute repairs the rollup
+            failedDeltas.incrementAndGet();
+            logger.warn("Failed to apply category_stats delta for categoryId {}: {}", categoryId, e.getMessage());
+        }
+    }
+
+    private static BigDecimal stockValue(BigDecimal sellingPrice, long stock) {
+        return sellingPrice != null ? sellingPrice.multiply(BigDecimal.valueOf(stock)) : BigDecimal.ZERO;
+    }
+
+    public void summary(Exchange exchange) {
+        String categoryId = exchange.getIn().getHeader("categoryId", String.class);
+        Document categoryDoc = categoryCache.get(categoryId);
+        if (categoryDoc == null || categoryDoc.getString("categoryName") == null) {
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+            exchange.getIn().setBody(Map.of("message", ApplicationConstants.ERROR_CATEGORY_NOT_FOUND));
+            return;
+        }
+
+        Document statsDoc = readClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_CATEGORY_STATS_COLLECTION)
+                .find(Filters.eq("_id", categoryId))
+                .first();
+
+        // A category without items has no rollup yet
+        CategorySummaryResponse response = new CategorySummaryResponse();
+        response.setCategoryId(categoryId);
+        response.setCategoryName(categoryDoc.getString("categoryName"));
+        response.setStockValue(BigDecimal.ZERO);
+        if (statsDoc != null) {
+            response.setItemCount(longValue(statsDoc.get("itemCount")));
+            response.setTotalAvailableStock(longValue(statsDoc.get("totalAvailableStock")));
+            BigDecimal stockValue = BsonValues.toBigDecimal(statsDoc.get("stockValue"));
+            response.setStockValue(stockValue != null ? stockValue : BigDecimal.ZERO);
+            response.setSpecialProductCount(longValue(statsDoc.get("specialProductCount")));
+            response.setUpdatedAt(statsDoc.getDate("updatedAt"));
+        }
+
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Rebuilds every rollup with one $group over the item collection and
+     * removes rollups of categories that no longer have items.
+     * <p>
+     * Before the $group runs, each rollup gets recomputedAt and a baseline
+     * copy of its counters in one update. From then on, deltas of writes that
+     * completed earlier are skipped, since the $group counts those writes.
+     * Deltas of later writes keep landing on the counters. Each rollup is
+     * then set to the recomputed value plus what it gained since its baseline.
+     * A write that lands while the $group runs can still be counted twice,
+     * and the next run repairs that.
+     */
+    public void recompute(Exchange exchange) {
+        Date recomputeStart = new Date();
+        Document baseline = new Document();
+        COUNTERS.forEach(counter -> baseline.append(counter, "$" + counter));
+        statsCollection().updateMany(new Document(), List.of(new Document("$set",
+                new Document("recomputedAt", recomputeStart).append("baseline", baseline))));
+
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("categoryId", new Document("$ne", null))),
+                new Document("$group", new Document("_id", "$categoryId")
+                        .append("itemCount", new Document("$sum", 1))
+                        .append("totalAvailableStock", new Document("$sum",
+                                new Document("$ifNull", List.of("$stockDetails.availableStock", 0))))
+                        .append("stockValue", new Document("$sum", new Document("$multiply", List.of(
+                                sellingPriceAsDecimal(0),
+                                new Document("$ifNull", List.of("$stockDetails.availableStock", 0))))))
+                        .append("specialProductCount", new Document("$sum",
+                                new Document("$cond", List.of(new Document("$in", List.of("$specialProduct", List.of(true, "true"))), 1, 0))))
+                        .append("invalidPrices", new Document("$sum",
+                                new Document("$cond", List.of(new Document("$eq", List.of(sellingPriceAsDecimal(null), null)), 1, 0))))));
+
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        long invalidPrices = 0;
+        for (Document rollup : mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_READ_COLLECTION)
+                .aggregate(pipeline)) {
+            invalidPrices += longValue(rollup.get("invalidPrices"));
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", rollup.get("_id")),
+                    rebaseOnto(rollup, recomputeStart), new UpdateOptions().upsert(true)));
+        }
+        if (!writes.isEmpty()) {
+            statsCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        }
+        // Rollups the $group did not produce keep only what they gained during the run
+        statsCollection().updateMany(Filters.exists("baseline"), rebaseOnto(new Document(), recomputeStart));
+        long removed = statsCollection().deleteMany(Filters.lte("itemCount", 0)).getDeletedCount();
+        lastRecomputedAt.set(recomputeStart.getTime());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "category_stats recomputed");
+        response.put("categories", writes.size());
+        response.put("removed", removed);
+        response.put("invalidPrices", invalidPrices);
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("category_stats recomputed for {} categories, removed {} stale rollups", writes.size(), removed);
+        if (invalidPrices > 0) {
+            logger.warn("category_stats recompute counted {} items with a non-numeric sellingPrice at a stock value of 0",
+                    invalidPrices);
+        }
+    }
+
+    /**
+     * Update pipeline that sets each counter to the recomputed value plus the
+     * deltas applied since the baseline was taken, then drops the baseline.
+     * A rollup created by a delta during the run has no baseline and keeps
+     * everything it gained.
+     */
+    static List<Document> rebaseOnto(Document rollup, Date recomputeStart) {
+        Document counters = new Document();
+        for (String counter : COUNTERS) {
+            Object recomputed = rollup.get(counter);
+            counters.append(counter, new Document("$add", List.of(
+                    new Document("$literal", recomputed != null ? recomputed : 0),
+                    new Document("$subtract", List.of(
+                            new Document("$ifNull", List.of("$" + counter, 0)),
+                            new Document("$ifNull", List.of("$baseline." + counter, 0)))))));
+        }
+        return List.of(
+                new Document("$set", counters
+                        .append("recomputedAt", recomputeStart)
+                        .append("updatedAt", new Date())),
+                new Document("$unset", "baseline"));
+    }
+
+    /**
+     * sellingPrice as a decimal; a missing price counts as 0 and one that is
+     * not a number becomes onError, so a bad item cannot fail the $group.
+     */
+    private static Document sellingPriceAsDecimal(Object onError) {
+        return new Document("$convert", new Document("input", "$itemPrice.sellingPrice")
+                .append("to", "decimal")
+                .append("onError", onError)
+                .append("onNull", 0));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("appliedDeltas", appliedDeltas.get());
+        stats.put("failedDeltas", failedDeltas.get());
+        stats.put("skippedDeltas", skippedDeltas.get());
+        stats.put("lastRecomputedAt", lastRecomputedAt.get() > 0 ? new Date(lastRecomputedAt.get()) : null);
+        return stats;
+    }
+
+    private static final class Delta {
+        private long itemCount;
+        private long availableStock;
+        private BigDecimal stockValue = BigDecimal.ZERO;
+        private long specialProducts;
+    }
+
+    private MongoCollection<Document> statsCollection() {
+        return mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_CATEGORY_STATS_COLLECTION);
+    }
+}
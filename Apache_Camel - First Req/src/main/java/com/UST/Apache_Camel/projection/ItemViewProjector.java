@@ -0,0 +1,373 @@
+package com.UST.Apache_Camel.projection;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.cache.ItemResponseCache;
+import com.UST.Apache_Camel.cache.ResponseBytesCache;
+import com.UST.Apache_Camel.cache.SearchResultCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.model.Category;
+import com.UST.Apache_Camel.model.Item;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains the denormalized item_view read model.
+ * <p>
+ * The write routes publish an item or category change event to a seda queue
+ * after their write succeeds. A single consumer re-reads the source document
+ * and upserts the pre-shaped view document, so events are idempotent and a
+ * lost event is repaired by the next change or by a rebuild.
+ * <p>
+ * Writers outside this service publish no events: the Second Req queue
+ * consumer saves stock changes straight to the item collection. A periodic
+ * reconcile re-projects every item whose lastUpdateDate is at or after its
+ * previous run, so those changes reach item_view within one period.
+ */
+@Component
+public class ItemViewProjector {
+    private static final Logger logger = LoggerFactory.getLogger(ItemViewProjector.class);
+
+    public static final String EVENT_ITEM = "item";
+    public static final String EVENT_CATEGORY = "category";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // lastUpdateDate has second precision and is stamped by another process's clock
+    private static final long RECONCILE_OVERLAP_SECONDS = 5;
+
+    private final MongoClient mongoClient;
+    private final CategoryCache categoryCache;
+    private final ItemResponseCache itemResponseCache;
+    private final ResponseBytesCache responseBytesCache;
+    private final SearchResultCache searchResultCache;
+    private final ProducerTemplate producerTemplate;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // Batches bypass the queue and are counted apart, so pending stays published - applied - failed
+    private final AtomicLong batchApplied = new AtomicLong();
+    private final AtomicLong batchFailed = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastAppliedAt = new AtomicLong();
+    private final AtomicLong reconciled = new AtomicLong();
+    private volatile LocalDateTime reconciledSince = LocalDateTime.now();
+
+    public ItemViewProjector(MongoClient mongoClient, CategoryCache categoryCache,
+                             ItemResponseCache itemResponseCache, ResponseBytesCache responseBytesCache,
+                             SearchResultCache searchResultCache, ProducerTemplate producerTemplate,
+                             @Value("${app.itemView.projection.enabled:true}") boolean enabled,
+                             @Value("${app.itemView.rebuildBatchSize:500}") int rebuildBatchSize) {
+        this.mongoClient = mongoClient;
+        this.categoryCache = categoryCache;
+        this.itemResponseCache = itemResponseCache;
+        this.responseBytesCache = responseBytesCache;
+        this.searchResultCache = searchResultCache;
+        this.producerTemplate = producerTemplate;
+        this.enabled = enabled;
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+    }
+
+    public void publishInsertedItem(Exchange exchange) {
+        Item item = exchange.getProperty("validatedItem", Item.class);
+        publish(EVENT_ITEM, item != null ? item.getId() : null);
+    }
+
+    public void publishUpdatedItem(Exchange exchange) {
+        publish(EVENT_ITEM, exchange.getProperty("itemId", String.class));
+    }
+
+    public void publishInsertedCategory(Exchange exchange) {
+        Category category = exchange.getProperty("newCategory", Category.class);
+        publish(EVENT_CATEGORY, category != null ? category.getId() : null);
+    }
+
+    private void publish(String type, String id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("id", id);
+        event.put("enqueuedAt", System.currentTimeMillis());
+        try {
+            producerTemplate.sendBody(ApplicationConstants.SEDA_PREFIX + ApplicationConstants.ENDPOINT_PROJECT_ITEM_VIEW, event);
+            published.incrementAndGet();
+        } catch (RuntimeException e) {
+            // The write has already succeeded; a dropped event is repaired by a rebuild
+            dropped.incrementAndGet();
+            logger.warn("Failed to publish item_view {} event for id {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    /**
+     * Consumer side of the projection queue: expects an event map as body.
+     */
+    public void apply(Exchange exchange) {
+        Map<String, Object> event = exchange.getIn().getBody(Map.class);
+        String type = (String) event.get("type");
+        String id = (String) event.get("id");
+        try {
+            if (EVENT_CATEGORY.equals(type)) {
+                projectCategory(id);
+            } else {
+                projectItem(id);
+            }
+            applied.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Failed to apply item_view {} event for id {}: {}", type, id, e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long lag = now - ((Number) event.get("enqueuedAt")).longValue();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        lastAppliedAt.set(now);
+        logger.debug("Applied item_view {} event for id {} with lag {} ms", type, id, lag);
+    }
+
+    public void projectItem(String itemId) {
+        Document itemDoc = itemCollection().find(Filters.eq("_id", itemId)).first();
+        if (itemDoc == null) {
+            Document removed = viewCollection().findOneAndDelete(Filters.eq("_id", itemId));
+            responseBytesCache.invalidateItem(itemId, removed != null ? removed.getString("categoryId") : null);
+        } else {
+            Document categoryDoc = categoryCache.get(itemDoc.getString("categoryId"));
+            viewCollection().replaceOne(Filters.eq("_id", itemId),
+                    toViewDocument(itemDoc, categoryDoc, new Date()), new ReplaceOptions().upsert(true));
+            responseBytesCache.invalidateItem(itemId, itemDoc.getString("categoryId"));
+        }
+        // Responses cached between the write and this projection were built from the old view
+        itemResponseCache.invalidate(itemId);
+    }
+
+    public void projectCategory(String categoryId) {
+        Document categoryDoc = categoryCache.get(categoryId);
+        if (categoryDoc == null) {
+            return;
+        }
+        UpdateResult result = viewCollection().updateMany(Filters.eq("categoryId", categoryId), Updates.combine(
+                Updates.set("categoryName", categoryDoc.getString("categoryName")),
+                Updates.set("categoryDep", categoryDoc.getString("categoryDep")),
+                Updates.set("projectedAt", new Date())));
+        if (result.getModifiedCount() > 0) {
+            itemResponseCache.invalidateAll();
+            responseBytesCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Re-projects every item and removes view documents whose item no longer
+     * exists. A view document projected live after the rebuild started is newer
+     * than the item the rebuild read and is left as it is.
+     */
+    public void rebuild(Exchange exchange) {
+        Date rebuildStart = new Date();
+        long projected = 0;
+        List<Document> batch = new ArrayList<>(rebuildBatchSize);
+        for (Document itemDoc : itemCollection().find().batchSize(rebuildBatchSize)) {
+            batch.add(itemDoc);
+            if (batch.size() == rebuildBatchSize) {
+                projected += writeBatch(batch, rebuildStart, rebuildStart);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            projected += writeBatch(batch, rebuildStart, rebuildStart);
+        }
+
+        // Live projections during the rebuild carry a later projectedAt and are kept
+        long removed = viewCollection().deleteMany(Filters.lt("projectedAt", rebuildStart)).getDeletedCount();
+        itemResponseCache.invalidateAll();
+        responseBytesCache.invalidateAll();
+        searchResultCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "item_view rebuilt");
+        response.put("projected", projected);
+        response.put("removed", removed);
+        exchange.getIn().setBody(response);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        logger.info("item_view rebuilt with {} items, removed {} stale documents", projected, removed);
+    }
+
+    /**
+     * Re-projects the items changed since the previous run, including writes
+     * that published no event. Live projections made during the run are kept.
+     */
+    public void reconcile(Exchange exchange) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime runStart = LocalDateTime.now();
+        Date projectedAt = new Date();
+        String since = reconciledSince.minusSeconds(RECONCILE_OVERLAP_SECONDS).format(DATE_TIME_FORMATTER);
+
+        long projected = 0;
+        Set<String> itemIds = new HashSet<>();
+        Set<String> categoryIds = new HashSet<>();
+        List<Document> batch = new ArrayList<>(rebuildBatchSize);
+        for (Document itemDoc : itemCollection().find(Filters.gte("lastUpdateDate", since)).batchSize(rebuildBatchSize)) {
+            batch.add(itemDoc);
+            itemIds.add(String.valueOf(itemDoc.get("_id")));
+            if (itemDoc.getString("categoryId") != null) {
+                categoryIds.add(itemDoc.getString("categoryId"));
+            }
+            if (batch.size() == rebuildBatchSize) {
+                projected += writeBatch(batch, projectedAt, projectedAt);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            projected += writeBatch(batch, projectedAt, projectedAt);
+        }
+        if (!itemIds.isEmpty()) {
+            itemIds.forEach(itemResponseCache::invalidate);
+            responseBytesCache.invalidateItems(itemIds, categoryIds);
+        }
+        reconciledSince = runStart;
+        reconciled.addAndGet(projected);
+        logger.debug("item_view reconcile projected {} items changed since {}", projected, since);
+    }
+
+    /**
+     * Projects a batch of written items in one bulk write instead of one queued
+     * event per item, used by the bulk import and the bulk inventory update.
+     */
+    public void projectItems(List<Document> itemDocs) {
+        if (!enabled || itemDocs.isEmpty()) {
+            return;
+        }
+        try {
+            batchApplied.addAndGet(writeBatch(itemDocs, new Date(), null));
+        } catch (RuntimeException e) {
+            // The items are stored; a rebuild repairs the missing view documents
+            batchFailed.addAndGet(itemDocs.size());
+            logger.error("Failed to project {} items into item_view: {}", itemDocs.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Upserts the view documents of a batch. With replaceBefore set, view
+     * documents projected at or after it are kept instead of replaced.
+     */
+    private int writeBatch(List<Document> itemDocs, Date projectedAt, Date replaceBefore) {
+        Set<String> categoryIds = new HashSet<>();
+        for (Document itemDoc : itemDocs) {
+            if (itemDoc.getString("categoryId") != null) {
+                categoryIds.add(itemDoc.getString("categoryId"));
+            }
+        }
+        Map<String, Document> categories = categoryCache.getAll(categoryIds);
+
+        List<WriteModel<Document>> writes = new ArrayList<>(itemDocs.size());
+        for (Document itemDoc : itemDocs) {
+            Document viewDoc = toViewDocument(itemDoc, categories.get(itemDoc.getString("categoryId")), projectedAt);
+            Bson filter = Filters.eq("_id", viewDoc.get("_id"));
+            if (replaceBefore != null) {
+                filter = Filters.and(filter, Filters.not(Filters.gte("projectedAt", replaceBefore)));
+            }
+            writes.add(new ReplaceOneModel<>(filter, viewDoc, new ReplaceOptions().upsert(true)));
+        }
+        try {
+            viewCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // A guarded upsert that skipped a newer view document fails as a duplicate _id insert
+            for (BulkWriteError writeError : e.getWriteErrors()) {
+                if (replaceBefore == null || writeError.getCode() != ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR) {
+                    throw e;
+                }
+            }
+            return writes.size() - e.getWriteErrors().size();
+        }
+        return writes.size();
+    }
+
+    static Document toViewDocument(Document itemDoc, Document categoryDoc, Date projectedAt) {
+        Document viewDoc = new Document("_id", itemDoc.get("_id"))
+                .append("id", itemDoc.get("_id"))
+                .append("itemName", itemDoc.getString("itemName"))
+                .append("categoryId", itemDoc.getString("categoryId"))
+                .append("categoryName", categoryDoc != null ? categoryDoc.getString("categoryName") : null)
+                .append("categoryDep", categoryDoc != null ? categoryDoc.getString("categoryDep") : null)
+                .append("itemPrice", itemDoc.get("itemPrice"));
+
+        Document stockDoc = itemDoc.get("stockDetails", Document.class);
+        if (stockDoc != null) {
+            viewDoc.append("stockDetails", new Document("availableStock", stockDoc.get("availableStock"))
+                    .append("unitOfMeasure", stockDoc.getString("unitOfMeasure")));
+        }
+
+        Object specialProduct = itemDoc.get("specialProduct");
+        viewDoc.append("specialProduct", specialProduct instanceof Boolean ? (Boolean) specialProduct :
+                "true".equalsIgnoreCase(String.valueOf(specialProduct)));
+        viewDoc.append("lastUpdateDate", itemDoc.get("lastUpdateDate"));
+        viewDoc.append("projectedAt", projectedAt);
+        return viewDoc;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // Read the consumer counters before published so pending is never negative
+        long appliedCount = applied.get();
+        long failedCount = failed.get();
+        long publishedCount = published.get();
+        stats.put("enabled", enabled);
+        stats.put("published", publishedCount);
+        stats.put("dropped", dropped.get());
+        stats.put("applied", appliedCount);
+        stats.put("failed", failedCount);
+        stats.put("pending", publishedCount - appliedCount - failedCount);
+        stats.put("batchApplied", batchApplied.get());
+        stats.put("batchFailed", batchFailed.get());
+        stats.put("reconciled", reconciled.get());
+        stats.put("reconciledSince", reconciledSince.format(DATE_TIME_FORMATTER));
+        stats.put("lastLagMillis", lastLagMillis.get());
+        stats.put("maxLagMillis", maxLagMillis.get());
+        stats.put("lastAppliedAt", lastAppliedAt.get() > 0 ? new Date(lastAppliedAt.get()) : null);
+        return stats;
+    }
+
+    private MongoCollection<Document> itemCollection() {
+        return mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION);
+    }
+
+    private MongoCollection<Document> viewCollection() {
+        return mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)
+                .getCollection(ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION);
+    }
+}
@@ -0,0 +1,87 @@
+package com.UST.Apache_Camel.reactive;
+
+import com.UST.Apache_Camel.config.MongoCodecConfig;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.apache.camel.Endpoint;
+import org.apache.camel.support.DefaultComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Camel component for the reactivemongo: scheme, a non-blocking counterpart of
+ * the read operations of the mongodb: producer used by the load routes. Queries
+ * run on the reactive streams driver and the exchange is continued from its
+ * completion callback, so no Camel or servlet thread waits on Mongo.
+ * <p>
+ * Endpoint URIs mirror the mongodb: ones, for example
+ * reactivemongo:readMongoClient?database=mycartdb&collection=item&operation=aggregate.
+ * Only findById and aggregate are supported, and the endpoints are producer
+ * only: they can be sent to from a route but not consumed from.
+ */
+@Component(ReactiveMongoComponent.SCHEME)
+public class ReactiveMongoComponent extends DefaultComponent {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveMongoComponent.class);
+
+    public static final String SCHEME = "reactivemongo";
+
+    private final String uri;
+    private final ReadPreference readPreference;
+    private volatile MongoClient client;
+
+    // Same server and read preference as the blocking readMongoClient
+    public ReactiveMongoComponent(@Value("${app.mongo.read.uri:${spring.data.mongodb.uri}}") String uri,
+                                  ReadMongoClient readMongoClient) {
+        this.uri = uri;
+        this.readPreference = readMongoClient.readPreference();
+    }
+
+    @Override
+    protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+        ReactiveMongoEndpoint endpoint = new ReactiveMongoEndpoint(uri, this);
+        setProperties(endpoint, parameters);
+        endpoint.validate();
+        return endpoint;
+    }
+
+    /**
+     * Created on first use, so the reactive driver only opens connections when
+     * a route actually runs in reactive mode.
+     */
+    MongoClient client() {
+        MongoClient current = client;
+        if (current == null) {
+            synchronized (this) {
+                current = client;
+                if (current == null) {
+                    current = MongoClients.create(MongoClientSettings.builder()
+                            .applyConnectionString(new ConnectionString(uri))
+                            .readPreference(readPreference)
+                            .codecRegistry(MongoCodecConfig.itemCodecRegistry())
+                            .build());
+                    client = current;
+                    logger.info("Reactive MongoClient created for the {} component", SCHEME);
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        MongoClient current = client;
+        if (current != null) {
+            current.close();
+            client = null;
+        }
+    }
+}
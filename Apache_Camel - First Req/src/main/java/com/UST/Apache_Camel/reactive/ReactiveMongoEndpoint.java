@@ -0,0 +1,80 @@
+package com.UST.Apache_Camel.reactive;
+
+import org.apache.camel.Category;
+import org.apache.camel.Consumer;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.spi.UriEndpoint;
+import org.apache.camel.spi.UriParam;
+import org.apache.camel.support.DefaultEndpoint;
+
+/**
+ * Producer-only endpoint: the database, collection and operation are checked
+ * when the URI is resolved, and a route consuming from it fails at startup.
+ */
+@UriEndpoint(scheme = ReactiveMongoComponent.SCHEME, title = "Reactive MongoDB reads",
+        syntax = "reactivemongo:connectionBean", producerOnly = true, category = {Category.DATABASE})
+public class ReactiveMongoEndpoint extends DefaultEndpoint {
+
+    public static final String OPERATION_FIND_BY_ID = "findById";
+    public static final String OPERATION_AGGREGATE = "aggregate";
+
+    @UriParam
+    private String database;
+    @UriParam
+    private String collection;
+    @UriParam(enums = OPERATION_FIND_BY_ID + "," + OPERATION_AGGREGATE)
+    private String operation;
+
+    public ReactiveMongoEndpoint(String endpointUri, ReactiveMongoComponent component) {
+        super(endpointUri, component);
+    }
+
+    void validate() {
+        if (!OPERATION_FIND_BY_ID.equals(operation) && !OPERATION_AGGREGATE.equals(operation)) {
+            throw new IllegalArgumentException("Unsupported reactivemongo operation: " + operation);
+        }
+        if (database == null || collection == null) {
+            throw new IllegalArgumentException("reactivemongo endpoints need database and collection: " + getEndpointUri());
+        }
+    }
+
+    @Override
+    public Producer createProducer() {
+        return new ReactiveMongoProducer(this);
+    }
+
+    @Override
+    public Consumer createConsumer(Processor processor) {
+        throw new IllegalArgumentException("Cannot consume from producer-only endpoint: " + getEndpointUri());
+    }
+
+    @Override
+    public ReactiveMongoComponent getComponent() {
+        return (ReactiveMongoComponent) super.getComponent();
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(String database) {
+        this.database = database;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+}
@@ -0,0 +1,109 @@
+package com.UST.Apache_Camel.reactive;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sets the same bodies as the mongodb: producer: the matching Document or null
+ * for findById, and the List of result Documents for aggregate. The route is
+ * continued on the driver's callback thread once the publisher completes.
+ */
+public class ReactiveMongoProducer extends DefaultAsyncProducer {
+
+    // Header read by the mongodb: producer for findById projections
+    static final String HEADER_FIELD_PROJECTION = "camelMongoDbFieldProjection";
+
+    public ReactiveMongoProducer(ReactiveMongoEndpoint endpoint) {
+        super(endpoint);
+    }
+
+    @Override
+    public ReactiveMongoEndpoint getEndpoint() {
+        return (ReactiveMongoEndpoint) super.getEndpoint();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Publisher<Document> publisher;
+        boolean single;
+        try {
+            MongoCollection<Document> collection = getEndpoint().getComponent().client()
+                    .getDatabase(getEndpoint().getDatabase())
+                    .getCollection(getEndpoint().getCollection());
+            if (ReactiveMongoEndpoint.OPERATION_FIND_BY_ID.equals(getEndpoint().getOperation())) {
+                publisher = collection.find(Filters.eq("_id", exchange.getIn().getBody()))
+                        .projection(fieldProjection(exchange))
+                        .first();
+                single = true;
+            } else {
+                publisher = collection.aggregate(exchange.getIn().getBody(List.class));
+                single = false;
+            }
+        } catch (RuntimeException e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        publisher.subscribe(new CollectingSubscriber(exchange, callback, single));
+        return false;
+    }
+
+    private static Bson fieldProjection(Exchange exchange) {
+        Object projection = exchange.getIn().getHeader(HEADER_FIELD_PROJECTION);
+        if (projection instanceof Bson) {
+            return (Bson) projection;
+        }
+        return projection != null ? Document.parse(projection.toString()) : null;
+    }
+
+    private static final class CollectingSubscriber implements Subscriber<Document> {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final boolean single;
+        private final List<Document> results = new ArrayList<>();
+
+        private CollectingSubscriber(Exchange exchange, AsyncCallback callback, boolean single) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.single = single;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Document document) {
+            results.add(document);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            exchange.setException(error);
+            callback.done(false);
+        }
+
+        @Override
+        public void onComplete() {
+            if (single) {
+                exchange.getIn().setBody(results.isEmpty() ? null : results.get(0));
+            } else {
+                exchange.getIn().setBody(results);
+            }
+            callback.done(false);
+        }
+    }
+}
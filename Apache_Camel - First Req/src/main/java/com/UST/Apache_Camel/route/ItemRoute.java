@@ -1,13 +1,19 @@
 package com.UST.Apache_Camel.route;
 
 import com.UST.Apache_Camel.bean.*;
+import com.UST.Apache_Camel.cache.CacheStatsBean;
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.cache.ItemResponseCache;
+import com.UST.Apache_Camel.cache.ResponseBytesCache;
+import com.UST.Apache_Camel.cache.SearchResultCache;
 import com.UST.Apache_Camel.config.ApplicationConstants;
 import com.UST.Apache_Camel.exception.InventoryValidationException;
 import com.UST.Apache_Camel.model.Category;
 import com.UST.Apache_Camel.model.Item;
 import com.UST.Apache_Camel.processors.*;
+import com.UST.Apache_Camel.projection.CategoryStatsRollup;
+import com.UST.Apache_Camel.projection.ItemViewProjector;
 import com.UST.Apache_Camel.strategies.ItemAggregationStrategy;
-import com.UST.Apache_Camel.strategies.ItemResponseCatAggregationStrategy;
 import com.mongodb.MongoException;
 import com.mongodb.MongoSocketOpenException;
 import com.mongodb.MongoSocketReadException;
@@ -15,6 +21,10 @@ import com.mongodb.MongoTimeoutException;
 import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.ChoiceDefinition;
+import org.apache.camel.model.FilterDefinition;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.dataformat.JsonLibrary;
 import org.apache.camel.model.rest.RestBindingMode;
 import org.slf4j.Logger;
@@ -34,6 +44,42 @@ public class ItemRoute extends RouteBuilder {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private ItemResponseCache itemResponseCache;
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Autowired
+    private CategoryItemsStreamBean categoryItemsStreamBean;
+
+    @Autowired
+    private CacheStatsBean cacheStatsBean;
+
+    @Autowired
+    private ItemViewProjector itemViewProjector;
+
+    @Autowired
+    private ItemEtagBean itemEtagBean;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private CategoryStatsRollup categoryStatsRollup;
+
+    @Autowired
+    private BulkItemImporter bulkItemImporter;
+
+    @Autowired
+    private BulkCategoryImporter bulkCategoryImporter;
+
+    @Autowired
+    private BulkInventoryUpdater bulkInventoryUpdater;
+
     private static final Logger logger = LoggerFactory.getLogger(ItemRoute.class);
 
     @Value("${app.error.itemNotFound:Item not found}")
@@ -51,10 +97,63 @@ public class ItemRoute extends RouteBuilder {
     @Value("${mongodb.retry.backOffMultiplier:2.5}")
     private double mongoRetryBackoff;
 
+    @Value("${app.cache.category.refreshPeriod:300000}")
+    private long categoryCacheRefreshPeriod;
+
+    @Value("${app.getItem.singleQuery:false}")
+    private boolean getItemSingleQuery;
+
+    @Value("${app.batch.maxIds:100}")
+    private int batchMaxIds;
+
+    @Value("${app.page.maxLimit:500}")
+    private int pageMaxLimit;
+
+    @Value("${app.itemView.read.enabled:false}")
+    private boolean itemViewReads;
+
+    @Value("${app.http.transport:servlet}")
+    private String httpTransport;
+
+    @Value("${app.reactive.enabled:false}")
+    private boolean reactiveReads;
+
+    @Value("${app.inventory.atomicUpdate.enabled:false}")
+    private boolean atomicInventoryUpdates;
+
+    @Value("${app.create.insertOnly:false}")
+    private boolean insertOnlyCreate;
+
+    @Value("${app.itemView.reconcile.period:60000}")
+    private long itemViewReconcilePeriod;
+
+    @Value("${app.categoryStats.recompute.enabled:true}")
+    private boolean categoryStatsRecompute;
+
+    @Value("${app.categoryStats.recompute.delay:60000}")
+    private long categoryStatsRecomputeDelay;
+
+    @Value("${app.categoryStats.recompute.period:86400000}")
+    private long categoryStatsRecomputePeriod;
+
     @Override
     public void configure() {
         logger.info("Configuring Camel routes for Item Service");
 
+        // Reactive mode runs the GET reads on the reactive streams driver and calls the load routes
+        // directly, since coalescing and hedging block the calling thread on the shared execution
+        String readFindById = reactiveReads ? ApplicationConstants.MONGO_REACTIVE_FIND_BY_ID : ApplicationConstants.MONGO_READ_FIND_BY_ID;
+        String readAggregate = reactiveReads ? ApplicationConstants.MONGO_REACTIVE_AGGREGATE : ApplicationConstants.MONGO_READ_AGGREGATE;
+        String loadItemById = reactiveReads
+                ? ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEM_BY_ID
+                : "bean:requestCoalescer?method=loadItemById";
+        String loadItemsByCategory = reactiveReads
+                ? ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY
+                : "bean:requestCoalescer?method=loadItemsByCategory";
+        String loadItemsByCategoryPage = reactiveReads
+                ? ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY_PAGE
+                : "bean:requestCoalescer?method=loadItemsByCategoryPage";
+
         // Global exception handling for all routes
         onException(InventoryValidationException.class)
                 .handled(true)
@@ -86,16 +185,32 @@ public class ItemRoute extends RouteBuilder {
                 .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500));
 
         restConfiguration()
-                .component(ApplicationConstants.REST_COMPONENT)
+                .component(ApplicationConstants.HTTP_TRANSPORT_VERTX.equals(httpTransport)
+                        ? ApplicationConstants.REST_COMPONENT_PLATFORM_HTTP : ApplicationConstants.REST_COMPONENT)
                 .contextPath("/camel")
                 .host(ApplicationConstants.REST_HOST)
                 .port(ApplicationConstants.REST_PORT)
                 .bindingMode(RestBindingMode.json)
                 .dataFormatProperty("json.in.disableFeatures", "FAIL_ON_UNKNOWN_PROPERTIES");
 
-        // GET item by itemId
+        // Load the category cache at startup and refresh it periodically
+        from(String.format(ApplicationConstants.TIMER_CATEGORY_CACHE_REFRESH, categoryCacheRefreshPeriod))
+                .routeId(ApplicationConstants.ROUTE_REFRESH_CATEGORY_CACHE)
+                .bean(categoryCache, "refresh");
+
+        // GET item by itemId; binding is off because the response is rendered by the response bytes cache,
+        // error bodies stay plain text
         rest("/mycart/item/{itemId}")
                 .get()
+                .bindingMode(RestBindingMode.off)
+                .produces("application/json")
+                .param()
+                .name("fields")
+                .type(query)
+                .description("Comma separated response fields")
+                .dataType("string")
+                .required(false)
+                .endParam()
                 .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEM_BY_ID);
 
         from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEM_BY_ID)
@@ -107,22 +222,76 @@ public class ItemRoute extends RouteBuilder {
                 .log("Error fetching item: ${exception.message}")
                 .end()
                 .log("Fetching item with ID: ${header.itemId}")
-                .bean(GetItemBean.class, "setItemId")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
-                .bean(GetItemBean.class, "processResult")
+                .bean(SparseFieldsBean.class, "parseItemFields")
+                .filter(exchangeProperty("fieldsRejected").isNull())
+                .bean(responseBytesCache, "lookupItem")
+                .filter(exchangeProperty("responseBytesHit").isNull())
+                .bean(itemResponseCache, "lookup")
                 .choice()
-                .when(exchangeProperty("itemNotFound").isNull())
-                .bean(GetItemBean.class, "setCategoryId")
-                .setHeader("camelMongoDbFieldProjection", simple("{\"categoryName\": 1, \"_id\": 0}"))
-                .to(String.format(ApplicationConstants.MONGO_CATEGORY_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION))
-                .bean(GetItemBean.class, "processCategoryResult")
-                .endChoice();
-
-        // GET items by categoryId
+                .when(exchangeProperty("itemResponseCacheHit").isNull())
+                .bean(itemEtagBean, "checkNotModified")
+                .choice()
+                .when(exchangeProperty("itemNotModified").isNull())
+                .to(loadItemById)
+                .bean(itemResponseCache, "store")
+                .bean(itemEtagBean, "checkLoadedNotModified")
+                .endChoice()
+                .end()
+                .end()
+                .bean(SparseFieldsBean.class, "applyItemFields")
+                .end()
+                .end()
+                .bean(responseBytesCache, "render");
+
+        RouteDefinition loadItemByIdRoute = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEM_BY_ID)
+                .routeId(ApplicationConstants.ROUTE_LOAD_ITEM_BY_ID);
+        loadItemByIdRoute
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error fetching item: ${exception.message}"))
+                .log("Error fetching item: ${exception.message}")
+                .end();
+
+        if (itemViewReads) {
+            // Pre-shaped item_view document, category already embedded
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "setItemId");
+            read(loadItemByIdRoute, String.format(readFindById,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION));
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "processViewResult");
+        } else if (getItemSingleQuery) {
+            // Item and category resolved by one $match + $lookup aggregation
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "buildItemLookupPipeline");
+            read(loadItemByIdRoute, String.format(readAggregate,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION));
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "processLookupResult");
+        } else {
+            // Only the fields an ItemResponse and its ETag are built from, never the review array
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "setItemId")
+                    .setHeader("camelMongoDbFieldProjection", constant(ApplicationConstants.MONGO_ITEM_RESPONSE_PROJECTION));
+            read(loadItemByIdRoute, String.format(readFindById,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION));
+            loadItemByIdRoute
+                    .bean(GetItemBean.class, "processResult")
+                    .choice()
+                    .when(exchangeProperty("itemNotFound").isNull())
+                    .bean(GetItemBean.class, "setCategoryId")
+                    .bean(categoryCache, "lookup")
+                    .bean(GetItemBean.class, "processCategoryResult")
+                    .endChoice();
+        }
+
+        // GET items by categoryId; binding is off because the response is rendered by the response bytes cache,
+        // error bodies stay plain text
         rest("/mycart/items/{categoryId}")
                 .get()
+                .bindingMode(RestBindingMode.off)
+                .produces("application/json")
                 .param()
                 .name("includeSpecial")
                 .type(query)
@@ -130,6 +299,55 @@ public class ItemRoute extends RouteBuilder {
                 .dataType("boolean")
                 .defaultValue("false")
                 .endParam()
+                .param()
+                .name("limit")
+                .type(query)
+                .description("Page size; enables keyset pagination")
+                .dataType("integer")
+                .required(false)
+                .endParam()
+                .param()
+                .name("after")
+                .type(query)
+                .description("nextPageToken of the previous page")
+                .dataType("string")
+                .required(false)
+                .endParam()
+                .param()
+                .name("minPrice")
+                .type(query)
+                .description("Minimum selling price")
+                .dataType("number")
+                .required(false)
+                .endParam()
+                .param()
+                .name("maxPrice")
+                .type(query)
+                .description("Maximum selling price")
+                .dataType("number")
+                .required(false)
+                .endParam()
+                .param()
+                .name("inStockOnly")
+                .type(query)
+                .description("Only items with available stock")
+                .dataType("boolean")
+                .defaultValue("false")
+                .endParam()
+                .param()
+                .name("sort")
+                .type(query)
+                .description("price, -price, name or -name")
+                .dataType("string")
+                .required(false)
+                .endParam()
+                .param()
+                .name("fields")
+                .type(query)
+                .description("Comma separated item fields")
+                .dataType("string")
+                .required(false)
+                .endParam()
                 .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEMS_BY_CATEGORY);
 
         from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEMS_BY_CATEGORY)
@@ -141,22 +359,190 @@ public class ItemRoute extends RouteBuilder {
                 .log("Error fetching items: ${exception.message}")
                 .end()
                 .log("Fetching items for categoryId: ${header.categoryId}")
-                .bean(GetItemsByCategoryBean.class, "buildAggregationPipeline")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_AGGREGATE,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
-                .bean(GetItemsByCategoryBean.class, "processResult")
+                .bean(SparseFieldsBean.class, "parseCategoryItemFields")
+                .filter(exchangeProperty("fieldsRejected").isNull())
+                .bean(responseBytesCache, "lookupCategory")
+                .filter(exchangeProperty("responseBytesHit").isNull())
                 .choice()
-                .when(exchangeProperty("fetchCategory").isEqualTo(true))
-                .setHeader("camelMongoDbFieldProjection", simple("{\"categoryName\": 1, \"_id\": 0}"))
-                .to(String.format(ApplicationConstants.MONGO_CATEGORY_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION))
-                .bean(GetItemsByCategoryBean.class, "processCategoryResult")
+                .when(header("limit").isNotNull())
+                .to(loadItemsByCategoryPage)
                 .otherwise()
-                .split(body()).aggregationStrategy(new ItemResponseCatAggregationStrategy())
-                .bean(GetItemsByCategoryBean.class, "transformItem")
+                .to(loadItemsByCategory)
                 .end()
-                .endChoice()
-                .bean(GetItemsByCategoryBean.class, "buildFinalResponse");
+                .bean(SparseFieldsBean.class, "applyCategoryFields")
+                .end()
+                .end()
+                .bean(responseBytesCache, "render");
+
+        FilterDefinition loadPage = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY_PAGE)
+                .routeId(ApplicationConstants.ROUTE_LOAD_ITEMS_BY_CATEGORY_PAGE)
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error fetching items: ${exception.message}"))
+                .log("Error fetching items: ${exception.message}")
+                .end()
+                .setProperty("pageMaxLimit", constant(pageMaxLimit))
+                .bean(GetItemsByCategoryBean.class, "setPageCategoryId")
+                .bean(categoryCache, "lookup")
+                .bean(GetItemsByCategoryBean.class, "buildPagedPipeline")
+                .filter(exchangeProperty("pageRejected").isNull());
+        read(loadPage, String.format(readAggregate, ApplicationConstants.MONGO_DATABASE,
+                itemViewReads ? ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION : ApplicationConstants.MONGO_ITEM_READ_COLLECTION));
+        loadPage
+                .bean(GetItemsByCategoryBean.class, "buildPagedResponse")
+                .end();
+
+        RouteDefinition loadItemsByCategoryRoute = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_LOAD_ITEMS_BY_CATEGORY)
+                .routeId(ApplicationConstants.ROUTE_LOAD_ITEMS_BY_CATEGORY);
+        loadItemsByCategoryRoute
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error fetching items: ${exception.message}"))
+                .log("Error fetching items: ${exception.message}")
+                .end();
+
+        if (itemViewReads) {
+            FilterDefinition loadView = loadItemsByCategoryRoute
+                    .bean(GetItemsByCategoryBean.class, "setPageCategoryId")
+                    .bean(categoryCache, "lookup")
+                    .bean(GetItemsByCategoryBean.class, "buildViewPipeline")
+                    .filter(exchangeProperty("pageRejected").isNull());
+            read(loadView, String.format(readAggregate,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION));
+            loadView
+                    .bean(GetItemsByCategoryBean.class, "buildViewResponse")
+                    .end();
+        } else {
+            FilterDefinition loadItems = loadItemsByCategoryRoute
+                    .bean(GetItemsByCategoryBean.class, "buildAggregationPipeline")
+                    .filter(exchangeProperty("pageRejected").isNull());
+            read(loadItems, String.format(readAggregate,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION));
+            ChoiceDefinition fetchCategory = loadItems
+                    .bean(GetItemsByCategoryBean.class, "processResult")
+                    .choice()
+                    .when(exchangeProperty("fetchCategory").isEqualTo(true))
+                    .setHeader("camelMongoDbFieldProjection", simple("{\"categoryName\": 1, \"_id\": 0}"));
+            read(fetchCategory, String.format(readFindById,
+                    ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION));
+            fetchCategory
+                    .bean(GetItemsByCategoryBean.class, "processCategoryResult")
+                    .otherwise()
+                    .bean(GetItemsByCategoryBean.class, "transformItems")
+                    .bean(GetItemsByCategoryBean.class, "buildFinalResponse")
+                    .end()
+                    .end();
+        }
+
+        // GET whole category streamed from a Mongo cursor; binding is off because the body is written as-is
+        rest("/mycart/items/{categoryId}/stream")
+                .get()
+                .bindingMode(RestBindingMode.off)
+                .produces("application/json,application/x-ndjson")
+                .param()
+                .name("includeSpecial")
+                .type(query)
+                .description("Include special items")
+                .dataType("boolean")
+                .defaultValue("false")
+                .endParam()
+                .param()
+                .name("format")
+                .type(query)
+                .description("json (default) or ndjson")
+                .dataType("string")
+                .required(false)
+                .endParam()
+                .param()
+                .name("batchSize")
+                .type(query)
+                .description("Mongo cursor batch size")
+                .dataType("integer")
+                .required(false)
+                .endParam()
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_STREAM_ITEMS_BY_CATEGORY);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_STREAM_ITEMS_BY_CATEGORY)
+                .routeId(ApplicationConstants.ROUTE_STREAM_ITEMS_BY_CATEGORY)
+                .log("Streaming items for categoryId: ${header.categoryId}")
+                .bean(categoryItemsStreamBean, "openStream");
+
+        // GET full-text search over item names and category names
+        rest("/mycart/search")
+                .get()
+                .produces("application/json")
+                .param()
+                .name("q")
+                .type(query)
+                .description("Search text")
+                .dataType("string")
+                .required(true)
+                .endParam()
+                .param()
+                .name("includeSpecial")
+                .type(query)
+                .description("Include special items")
+                .dataType("boolean")
+                .defaultValue("false")
+                .endParam()
+                .param()
+                .name("limit")
+                .type(query)
+                .description("Page size")
+                .dataType("integer")
+                .defaultValue("20")
+                .required(false)
+                .endParam()
+                .param()
+                .name("after")
+                .type(query)
+                .description("Page token from the previous page")
+                .dataType("string")
+                .required(false)
+                .endParam()
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_SEARCH_ITEMS);
+
+        FilterDefinition search = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_SEARCH_ITEMS)
+                .routeId(ApplicationConstants.ROUTE_SEARCH_ITEMS)
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error searching items: ${exception.message}"))
+                .log("Error searching items: ${exception.message}")
+                .end()
+                .log("Searching items for: ${header.q}")
+                .setProperty("pageMaxLimit", constant(pageMaxLimit))
+                .bean(SearchItemsBean.class, "buildSearchPipeline")
+                .filter(exchangeProperty("searchRejected").isNull())
+                .bean(searchResultCache, "lookup")
+                .filter(exchangeProperty("searchCacheHit").isNull());
+        read(search, String.format(readAggregate,
+                ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_VIEW_COLLECTION));
+        search
+                .bean(SearchItemsBean.class, "buildSearchResponse")
+                .bean(searchResultCache, "store")
+                .end()
+                .end();
+
+        // POST batch lookup of items by id
+        rest("/mycart/items/batch")
+                .post()
+                .consumes("application/json")
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEMS_BATCH);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_ITEMS_BATCH)
+                .routeId(ApplicationConstants.ROUTE_GET_ITEMS_BATCH)
+                .log("Received batch item lookup")
+                .setProperty("batchMaxIds", constant(batchMaxIds))
+                .bean(GetItemsBatchBean.class, "buildBatchQuery")
+                .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_ALL,
+                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
+                .bean(GetItemsBatchBean.class, "collectCategoryIds")
+                .bean(categoryCache, "lookupAll")
+                .bean(GetItemsBatchBean.class, "buildBatchResponse");
 
         // POST new item
         rest("/mycart")
@@ -165,36 +551,89 @@ public class ItemRoute extends RouteBuilder {
                 .type(Item.class)
                 .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_ITEM);
 
-        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_ITEM)
-                .routeId(ApplicationConstants.ROUTE_POST_NEW_ITEM)
+        RouteDefinition postNewItemRoute = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_ITEM)
+                .routeId(ApplicationConstants.ROUTE_POST_NEW_ITEM);
+        postNewItemRoute
                 .onException(InventoryValidationException.class)
                 .handled(true)
                 .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
                 .setBody(simple("${exception.message}"))
                 .log("Validation error: ${exception.message}")
+                .end();
+
+        if (insertOnlyCreate) {
+            // One round trip: the unique _id index rejects an existing item, the category comes from the cache
+            postNewItemRoute
+                    .log("Received new item: ${body}")
+                    .bean(PostNewItemBean.class, "validateItem")
+                    .bean(PostNewItemBean.class, "setCategoryId")
+                    .bean(categoryCache, "lookup")
+                    .choice()
+                    .when(body().isNull())
+                    .bean(PostNewItemBean.class, "handleInvalidCategory")
+                    .otherwise()
+                    .bean(PostNewItemBean.class, "prepareItemForInsert")
+                    .doTry()
+                    .to(String.format(ApplicationConstants.MONGO_ITEM_INSERT,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION))
+                    .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_ITEM_INSERTED)
+                    .doCatch(MongoException.class)
+                    .onWhen(new DuplicateKeyPredicate())
+                    .bean(PostNewItemBean.class, "handleExistingItem")
+                    .end()
+                    .endChoice();
+        } else {
+            postNewItemRoute
+                    .log("Received new item: ${body}")
+                    .bean(PostNewItemBean.class, "validateItem")
+                    .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_BY_ID,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
+                    .choice()
+                    .when(body().isNotNull())
+                    .bean(PostNewItemBean.class, "handleExistingItem")
+                    .otherwise()
+                    .bean(PostNewItemBean.class, "setCategoryId")
+                    .bean(categoryCache, "lookup")
+                    .choice()
+                    .when(body().isNull())
+                    .bean(PostNewItemBean.class, "handleInvalidCategory")
+                    .otherwise()
+                    .bean(PostNewItemBean.class, "prepareItemForInsert")
+                    .to(String.format(ApplicationConstants.MONGO_ITEM_INSERT,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION))
+                    .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_ITEM_INSERTED)
+                    .endChoice()
+                    .endChoice();
+        }
+
+        // Shared by both create modes once the item insert has succeeded
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_ITEM_INSERTED)
+                .routeId(ApplicationConstants.ROUTE_ITEM_INSERTED)
+                .bean(itemResponseCache, "invalidateInsertedItem")
+                .bean(responseBytesCache, "invalidateInsertedItem")
+                .bean(itemViewProjector, "publishInsertedItem")
+                .bean(categoryStatsRollup, "applyInsertedItem")
+                .bean(PostNewItemBean.class, "handleInsertSuccess");
+
+        // POST bulk item import; binding is off so the NDJSON or JSON array body is read as a stream
+        rest("/mycart/items/bulk")
+                .post()
+                .bindingMode(RestBindingMode.off)
+                .consumes("application/x-ndjson,application/json")
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_BULK_IMPORT_ITEMS);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_BULK_IMPORT_ITEMS)
+                .routeId(ApplicationConstants.ROUTE_BULK_IMPORT_ITEMS)
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error importing items: ${exception.message}"))
+                .log("Error importing items: ${exception.message}")
                 .end()
-                .log("Received new item: ${body}")
-                .bean(PostNewItemBean.class, "validateItem")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
-                .choice()
-                .when(body().isNotNull())
-                .bean(PostNewItemBean.class, "handleExistingItem")
-                .otherwise()
-                .bean(PostNewItemBean.class, "setCategoryId")
-                .setHeader("camelMongoDbFieldProjection", simple("{\"categoryName\": 1, \"_id\": 0}"))
-                .to(String.format(ApplicationConstants.MONGO_CATEGORY_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION))
-                .choice()
-                .when(body().isNull())
-                .bean(PostNewItemBean.class, "handleInvalidCategory")
-                .otherwise()
-                .bean(PostNewItemBean.class, "prepareItemForInsert")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_INSERT,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION))
-                .bean(PostNewItemBean.class, "handleInsertSuccess")
-                .endChoice()
-                .endChoice();
+                .log("Received bulk item import")
+                .bean(bulkItemImporter, "importItems")
+                .marshal().json(JsonLibrary.Jackson);
 
         // Route for sync update
         rest("/inventory/update")
@@ -208,27 +647,45 @@ public class ItemRoute extends RouteBuilder {
                 .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_UPDATE_INVENTORY)
                 .process(new FinalResponseProcessor());
 
-        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_UPDATE_INVENTORY)
-                .routeId(ApplicationConstants.ROUTE_UPDATE_INVENTORY)
-                .process(new PayloadValidationProcessor())
-                .split(simple("${exchangeProperty.inventoryList}"))
-                .aggregationStrategy(new ItemAggregationStrategy())
-                .streaming()
-                .doTry()
-                .bean(ItemBean.class, "processItem")
-                .bean(ItemBean.class, "setItemId")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
-                .bean(ItemBean.class, "validateAndUpdateItem")
-                .to(String.format(ApplicationConstants.MONGO_ITEM_SAVE,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION))
-                .bean(ItemBean.class, "markSuccess")
-                .doCatch(InventoryValidationException.class)
-                .bean(ItemBean.class, "markFailure")
-                .end()
-                .log("Completed processing item ${exchangeProperty.itemId}, itemResult: ${exchangeProperty.itemResult}")
-                .end()
-                .log("Split completed, itemResults: ${exchangeProperty.itemResults}");
+        RouteDefinition updateInventoryRoute = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_UPDATE_INVENTORY)
+                .routeId(ApplicationConstants.ROUTE_UPDATE_INVENTORY);
+
+        if (atomicInventoryUpdates) {
+            // One conditional $inc per item instead of findById + save
+            updateInventoryRoute
+                    .process(new PayloadValidationProcessor())
+                    .bean(InventoryCoalescingBean.class, "coalesce")
+                    .bean(bulkInventoryUpdater, "applyUpdates")
+                    .bean(InventoryCoalescingBean.class, "expandResults")
+                    .log("Atomic update completed, itemResults: ${exchangeProperty.itemResults}");
+        } else {
+            updateInventoryRoute
+                    .process(new PayloadValidationProcessor())
+                    .bean(InventoryCoalescingBean.class, "coalesce")
+                    .split(simple("${exchangeProperty.inventoryList}"))
+                    .aggregationStrategy(new ItemAggregationStrategy())
+                    .streaming()
+                    .doTry()
+                    .bean(ItemBean.class, "processItem")
+                    .bean(ItemBean.class, "setItemId")
+                    .to(String.format(ApplicationConstants.MONGO_ITEM_FIND_BY_ID,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_READ_COLLECTION))
+                    .bean(ItemBean.class, "validateAndUpdateItem")
+                    .to(String.format(ApplicationConstants.MONGO_ITEM_SAVE,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION))
+                    .bean(itemResponseCache, "invalidateUpdatedItem")
+                    .bean(responseBytesCache, "invalidateUpdatedItem")
+                    .bean(itemViewProjector, "publishUpdatedItem")
+                    .bean(categoryStatsRollup, "applyStockChange")
+                    .bean(ItemBean.class, "markSuccess")
+                    .doCatch(InventoryValidationException.class)
+                    .bean(ItemBean.class, "markFailure")
+                    .end()
+                    .log("Completed processing item ${exchangeProperty.itemId}, itemResult: ${exchangeProperty.itemResult}")
+                    .end()
+                    .bean(InventoryCoalescingBean.class, "expandResults")
+                    .log("Split completed, itemResults: ${exchangeProperty.itemResults}");
+        }
 
         // Route for async update
         rest("/inventory/async-update")
@@ -260,19 +717,142 @@ public class ItemRoute extends RouteBuilder {
                 .type(Category.class)
                 .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_CATEGORY);
 
-        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_CATEGORY)
-                .routeId(ApplicationConstants.ROUTE_POST_NEW_CATEGORY)
-                .log("Received new category: ${body}")
-                .bean(PostNewCategoryBean.class, "validateCategory")
-                .to(String.format(ApplicationConstants.MONGO_CATEGORY_FIND_BY_ID,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION))
-                .choice()
-                .when(body().isNull())
-                .bean(PostNewCategoryBean.class, "prepareCategoryForInsert")
-                .to(String.format(ApplicationConstants.MONGO_CATEGORY_INSERT,
-                        ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_WRITE_COLLECTION))
-                .bean(PostNewCategoryBean.class, "handleInsertSuccess")
-                .otherwise()
-                .bean(PostNewCategoryBean.class, "handleExistingCategory");
+        RouteDefinition postNewCategoryRoute = from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_POST_NEW_CATEGORY)
+                .routeId(ApplicationConstants.ROUTE_POST_NEW_CATEGORY);
+
+        if (insertOnlyCreate) {
+            postNewCategoryRoute
+                    .log("Received new category: ${body}")
+                    .bean(PostNewCategoryBean.class, "validateCategory")
+                    .bean(PostNewCategoryBean.class, "prepareCategoryForInsert")
+                    .doTry()
+                    .to(String.format(ApplicationConstants.MONGO_CATEGORY_INSERT,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_WRITE_COLLECTION))
+                    .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_CATEGORY_INSERTED)
+                    .doCatch(MongoException.class)
+                    .onWhen(new DuplicateKeyPredicate())
+                    .bean(PostNewCategoryBean.class, "handleExistingCategory")
+                    .end();
+        } else {
+            postNewCategoryRoute
+                    .log("Received new category: ${body}")
+                    .bean(PostNewCategoryBean.class, "validateCategory")
+                    .to(String.format(ApplicationConstants.MONGO_CATEGORY_FIND_BY_ID,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_READ_COLLECTION))
+                    .choice()
+                    .when(body().isNull())
+                    .bean(PostNewCategoryBean.class, "prepareCategoryForInsert")
+                    .to(String.format(ApplicationConstants.MONGO_CATEGORY_INSERT,
+                            ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_CATEGORY_WRITE_COLLECTION))
+                    .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_CATEGORY_INSERTED)
+                    .otherwise()
+                    .bean(PostNewCategoryBean.class, "handleExistingCategory");
+        }
+
+        // Shared by both create modes once the category insert has succeeded
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_CATEGORY_INSERTED)
+                .routeId(ApplicationConstants.ROUTE_CATEGORY_INSERTED)
+                .bean(categoryCache, "registerInsertedCategory")
+                .bean(responseBytesCache, "invalidateInsertedCategory")
+                .bean(itemViewProjector, "publishInsertedCategory")
+                .bean(PostNewCategoryBean.class, "handleInsertSuccess");
+
+        // POST bulk category import
+        rest("/mycart/category/bulk")
+                .post()
+                .consumes("application/json")
+                .produces("application/json")
+                .type(Category[].class)
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_BULK_IMPORT_CATEGORIES);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_BULK_IMPORT_CATEGORIES)
+                .routeId(ApplicationConstants.ROUTE_BULK_IMPORT_CATEGORIES)
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error importing categories: ${exception.message}"))
+                .log("Error importing categories: ${exception.message}")
+                .end()
+                .log("Received bulk category import")
+                .bean(bulkCategoryImporter, "importCategories");
+
+        // GET category rollup served from category_stats
+        rest("/mycart/category/{categoryId}/summary")
+                .get()
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_CATEGORY_SUMMARY);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_CATEGORY_SUMMARY)
+                .routeId(ApplicationConstants.ROUTE_GET_CATEGORY_SUMMARY)
+                .onException(Exception.class)
+                .handled(true)
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
+                .setBody(simple("Error fetching category summary: ${exception.message}"))
+                .log("Error fetching category summary: ${exception.message}")
+                .end()
+                .bean(categoryStatsRollup, "summary");
+
+        // POST full recompute of category_stats, also run on a timer to repair drift
+        rest("/mycart/category/stats/recompute")
+                .post()
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_RECOMPUTE_CATEGORY_STATS);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_RECOMPUTE_CATEGORY_STATS)
+                .routeId(ApplicationConstants.ROUTE_RECOMPUTE_CATEGORY_STATS)
+                .log("Recomputing category_stats")
+                .bean(categoryStatsRollup, "recompute");
+
+        if (categoryStatsRecompute) {
+            from(String.format(ApplicationConstants.TIMER_CATEGORY_STATS_RECOMPUTE,
+                    categoryStatsRecomputeDelay, categoryStatsRecomputePeriod))
+                    .routeId(ApplicationConstants.ROUTE_SCHEDULED_CATEGORY_STATS_RECOMPUTE)
+                    .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_RECOMPUTE_CATEGORY_STATS);
+        }
+
+        // GET cache statistics
+        rest("/mycart/cache/stats")
+                .get()
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_CACHE_STATS);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_GET_CACHE_STATS)
+                .routeId(ApplicationConstants.ROUTE_GET_CACHE_STATS)
+                .bean(cacheStatsBean, "reportStats");
+
+        // Apply item_view projection events one at a time so a later change is never overwritten by an earlier one
+        from(ApplicationConstants.SEDA_PREFIX + ApplicationConstants.ENDPOINT_PROJECT_ITEM_VIEW + "?concurrentConsumers=1")
+                .routeId(ApplicationConstants.ROUTE_PROJECT_ITEM_VIEW)
+                .bean(itemViewProjector, "apply");
+
+        // POST full rebuild of the item_view read model
+        rest("/mycart/itemview/rebuild")
+                .post()
+                .produces("application/json")
+                .to(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_REBUILD_ITEM_VIEW);
+
+        from(ApplicationConstants.DIRECT_PREFIX + ApplicationConstants.ENDPOINT_REBUILD_ITEM_VIEW)
+                .routeId(ApplicationConstants.ROUTE_REBUILD_ITEM_VIEW)
+                .log("Rebuilding item_view read model")
+                .bean(itemViewProjector, "rebuild");
+
+        // Picks up item writes that publish no projection event, such as the Second Req queue consumer
+        if (itemViewReconcilePeriod > 0) {
+            from(String.format(ApplicationConstants.TIMER_ITEM_VIEW_RECONCILE, itemViewReconcilePeriod, itemViewReconcilePeriod))
+                    .routeId(ApplicationConstants.ROUTE_RECONCILE_ITEM_VIEW)
+                    .bean(itemViewProjector, "reconcile");
+        }
+    }
+
+    /**
+     * Appends a read; in reactive mode the reply arrives on a driver callback
+     * thread, so the route continues on a Camel thread instead, where blocking
+     * steps such as a category cache miss cannot stall the driver.
+     */
+    private void read(ProcessorDefinition<?> definition, String uri) {
+        definition.to(uri);
+        if (reactiveReads) {
+            definition.threads().threadName("ReactiveReadContinuation");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.ItemResponseCache;
+import com.UST.Apache_Camel.cache.ResponseBytesCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.model.ItemResult;
+import com.UST.Apache_Camel.projection.CategoryStatsRollup;
+import com.UST.Apache_Camel.projection.ItemViewProjector;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkInventoryUpdaterTest {
+
+    private MongoCollection<Document> collection;
+    private ItemResponseCache itemResponseCache;
+    private ResponseBytesCache responseBytesCache;
+    private ItemViewProjector itemViewProjector;
+    private CategoryStatsRollup categoryStatsRollup;
+    private BulkInventoryUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        MongoClient mongoClient = mock(MongoClient.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        collection = mock(MongoCollection.class);
+        when(mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)).thenReturn(database);
+        when(database.getCollection(ApplicationConstants.MONGO_ITEM_WRITE_COLLECTION)).thenReturn(collection);
+
+        itemResponseCache = mock(ItemResponseCache.class);
+        responseBytesCache = mock(ResponseBytesCache.class);
+        itemViewProjector = mock(ItemViewProjector.class);
+        categoryStatsRollup = mock(CategoryStatsRollup.class);
+        updater = new BulkInventoryUpdater(mongoClient, itemResponseCache, responseBytesCache,
+                itemViewProjector, categoryStatsRollup);
+    }
+
+    @Test
+    void mapsEveryOpIndexToAResultInPayloadOrder() {
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of()),
+                List.of(new BulkWriteError(BulkInventoryUpdater.STOCK_CHECK_FAILED, "Failed to parse number",
+                        new BsonDocument(), 1)),
+                null, new ServerAddress()));
+        Document updatedA = new Document("_id", "A").append("categoryId", "cat-1")
+                .append("stockDetails", new Document("availableStock", 7));
+        findReturns(updatedA, new Document("_id", "B").append("stockDetails", new Document("availableStock", 1)));
+
+        Exchange exchange = exchangeWith(List.of(
+                entry("A", 2, 1),
+                Map.of("stockDetails", Map.of("soldOut", 1, "damaged", 0)),
+                entry("B", 5, 0),
+                entry("C", 1, 0),
+                Map.of("_id", "D")));
+        updater.applyUpdates(exchange);
+
+        List<ItemResult> results = exchange.getProperty("itemResults", List.class);
+        assertEquals(5, results.size());
+        assertResult(results.get(0), "A", "success", "Inventory updated successfully for item A");
+        assertResult(results.get(1), null, "error", "Each item must have '_id' and 'stockDetails'.");
+        assertResult(results.get(2), "B", "error",
+                "Requested stock reduction (5) exceeds available stock (1) for item ID: B");
+        assertResult(results.get(3), "C", "error", "Item not found for ID: C");
+        assertResult(results.get(4), "D", "error", "Each item must have '_id' and 'stockDetails'.");
+
+        verify(itemResponseCache).invalidate("A");
+        verify(responseBytesCache).invalidateItems(Set.of("A", "B", "C"), Set.of("cat-1"));
+        verify(itemViewProjector).projectItems(List.of(updatedA));
+        verify(categoryStatsRollup).applyStockChanges(List.of(updatedA), Map.of("A", -3));
+    }
+
+    @Test
+    void sendsOneUpdatePerItemInOneUnorderedBulkWrite() {
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of()));
+        findReturns(new Document("_id", "A"), new Document("_id", "B"));
+
+        updater.applyUpdates(exchangeWith(List.of(entry("A", 1, 0), entry("B", 2, 0))));
+
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<BulkWriteOptions> options = ArgumentCaptor.forClass(BulkWriteOptions.class);
+        verify(collection, times(1)).bulkWrite(writes.capture(), options.capture());
+        assertEquals(2, writes.getValue().size());
+        assertEquals(new Document("_id", "A"), toDocument(((UpdateOneModel<Document>) writes.getValue().get(0)).getFilter()));
+        assertEquals(false, options.getValue().isOrdered());
+    }
+
+    @Test
+    void repeatedItemIdIsSpreadOverConsecutiveBulkWrites() {
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of()));
+        findReturns(new Document("_id", "A"));
+
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 0), entry("A", 2, 0)));
+        updater.applyUpdates(exchange);
+
+        verify(collection, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        List<ItemResult> results = exchange.getProperty("itemResults", List.class);
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void bulkWriteErrorFailsTheWholeWrite() {
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoException("Timed out"));
+
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 0), entry("B", 1, 0)));
+        updater.applyUpdates(exchange);
+
+        List<ItemResult> results = exchange.getProperty("itemResults", List.class);
+        assertResult(results.get(0), "A", "error", "Timed out");
+        assertResult(results.get(1), "B", "error", "Timed out");
+        verify(itemViewProjector, never()).projectItems(anyList());
+        verify(categoryStatsRollup, never()).applyStockChanges(anyList(), anyMap());
+    }
+
+    @Test
+    void failedPostImageReadStillReportsAFullyMatchedWrite() {
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of()));
+        when(collection.find(any(Bson.class))).thenThrow(new MongoException("Timed out"));
+
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 0)));
+        updater.applyUpdates(exchange);
+
+        List<ItemResult> results = exchange.getProperty("itemResults", List.class);
+        assertResult(results.get(0), "A", "success", "Inventory updated successfully for item A");
+        verify(itemResponseCache).invalidate("A");
+    }
+
+    @Test
+    void unmatchedReasonExplainsTheStoredStock() {
+        assertEquals("Item not found for ID: A", BulkInventoryUpdater.unmatchedReason("A", 1, null));
+        assertEquals("Missing stockDetails in DB for item: A",
+                BulkInventoryUpdater.unmatchedReason("A", 1, new Document("_id", "A")));
+        assertEquals("availableStock must be an integer for item: A",
+                BulkInventoryUpdater.unmatchedReason("A", 1, withStock("5")));
+        assertEquals("availableStock cannot be negative for item: A",
+                BulkInventoryUpdater.unmatchedReason("A", 1, withStock(-2)));
+        assertEquals("Requested stock reduction (3) exceeds available stock (2) for item ID: A",
+                BulkInventoryUpdater.unmatchedReason("A", 3, withStock(2)));
+    }
+
+    private void findReturns(Document... itemDocs) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(collection.find(any(Bson.class))).thenReturn(iterable);
+        when(iterable.iterator()).thenReturn(cursor);
+        Boolean[] moreDocs = new Boolean[itemDocs.length];
+        for (int i = 0; i < itemDocs.length; i++) {
+            moreDocs[i] = i + 1 < itemDocs.length;
+        }
+        when(cursor.hasNext()).thenReturn(itemDocs.length > 0, moreDocs);
+        if (itemDocs.length > 0) {
+            Document[] nextDocs = new Document[itemDocs.length - 1];
+            System.arraycopy(itemDocs, 1, nextDocs, 0, nextDocs.length);
+            when(cursor.next()).thenReturn(itemDocs[0], nextDocs);
+        }
+    }
+
+    private static Document toDocument(Bson bson) {
+        return Document.parse(bson.toBsonDocument().toJson());
+    }
+
+    private static Exchange exchangeWith(List<Map<String, Object>> entries) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.setProperty("inventoryList", entries);
+        exchange.setProperty("itemResults", new ArrayList<ItemResult>());
+        return exchange;
+    }
+
+    private static Map<String, Object> entry(String itemId, int soldOut, int damaged) {
+        Map<String, Object> stockDetails = new LinkedHashMap<>();
+        stockDetails.put("soldOut", soldOut);
+        stockDetails.put("damaged", damaged);
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("_id", itemId);
+        entry.put("stockDetails", stockDetails);
+        return entry;
+    }
+
+    private static Document withStock(Object availableStock) {
+        return new Document("_id", "A").append("stockDetails", new Document("availableStock", availableStock));
+    }
+
+    private static void assertResult(ItemResult result, String itemId, String status, String message) {
+        assertEquals(itemId, result.getItemId());
+        assertEquals(status, result.getStatus());
+        assertEquals(message, result.getMessage());
+    }
+}
@@ -0,0 +1,76 @@
+package com.UST.Apache_Camel.bean;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GetItemsByCategoryBeanTest {
+
+    private static final String PRICE_FIELD = "itemPrice.sellingPrice";
+    private static final Decimal128 PRICE = Decimal128.parse("9.99");
+
+    @Test
+    void pageTokenRoundTrip() {
+        String token = GetItemsByCategoryBean.encodePageToken("item-42/ü");
+
+        assertFalse(token.contains("="));
+        assertFalse(token.contains("+"));
+        assertFalse(token.contains("/"));
+        assertEquals("item-42/ü", GetItemsByCategoryBean.decodePageToken(token));
+    }
+
+    @Test
+    void invalidPageTokenDecodesToNull() {
+        assertNull(GetItemsByCategoryBean.decodePageToken("not a token!"));
+    }
+
+    @Test
+    void defaultOrderResumesAfterLastId() {
+        GetItemsByCategoryBean.ListingSort sort = new GetItemsByCategoryBean.ListingSort(null, null, 1);
+        String token = sort.nextPageToken(new Document("id", "item-10"));
+
+        assertEquals(new Document("_id", 1), sort.toSortDocument());
+        assertEquals(new Document("_id", new Document("$gt", "item-10")), sort.keysetCondition(token));
+    }
+
+    @Test
+    void ascendingSortBreaksTiesOnAscendingId() {
+        GetItemsByCategoryBean.ListingSort sort = new GetItemsByCategoryBean.ListingSort("price", PRICE_FIELD, 1);
+        String token = sort.nextPageToken(new Document("id", "item-10")
+                .append("itemPrice", new Document("sellingPrice", PRICE)));
+
+        assertEquals(new Document(PRICE_FIELD, 1).append("_id", 1), sort.toSortDocument());
+        assertEquals(new Document("$or", List.of(
+                        new Document(PRICE_FIELD, new Document("$gt", PRICE)),
+                        new Document(PRICE_FIELD, PRICE).append("_id", new Document("$gt", "item-10")))),
+                sort.keysetCondition(token));
+    }
+
+    @Test
+    void descendingSortBreaksTiesOnDescendingId() {
+        GetItemsByCategoryBean.ListingSort sort = new GetItemsByCategoryBean.ListingSort("-name", "itemName", -1);
+        String token = sort.nextPageToken(new Document("id", "item-10").append("itemName", "Lamp"));
+
+        assertEquals(new Document("itemName", -1).append("_id", -1), sort.toSortDocument());
+        assertEquals(new Document("$or", List.of(
+                        new Document("itemName", new Document("$lt", "Lamp")),
+                        new Document("itemName", "Lamp").append("_id", new Document("$lt", "item-10")))),
+                sort.keysetCondition(token));
+    }
+
+    @Test
+    void tokenIssuedForAnotherSortIsRejected() {
+        GetItemsByCategoryBean.ListingSort byName = new GetItemsByCategoryBean.ListingSort("name", "itemName", 1);
+        GetItemsByCategoryBean.ListingSort byNameDesc = new GetItemsByCategoryBean.ListingSort("-name", "itemName", -1);
+        String token = byName.nextPageToken(new Document("id", "item-10").append("itemName", "Lamp"));
+
+        assertNull(byNameDesc.keysetCondition(token));
+        assertNull(byName.keysetCondition(GetItemsByCategoryBean.encodePageToken("item-10")));
+    }
+}
@@ -0,0 +1,118 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.model.ItemResult;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InventoryCoalescingBeanTest {
+
+    private final InventoryCoalescingBean bean = new InventoryCoalescingBean();
+
+    @Test
+    void mergesEntriesWithTheSameId() {
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 2), entry("B", 3, 0), entry("A", 4, 1)));
+
+        bean.coalesce(exchange);
+
+        List<Map<String, Object>> coalesced = exchange.getProperty("inventoryList", List.class);
+        assertEquals(2, coalesced.size());
+        assertEquals(Map.of("soldOut", 5, "damaged", 3), coalesced.get(0).get("stockDetails"));
+        assertEquals(Map.of("soldOut", 3, "damaged", 0), coalesced.get(1).get("stockDetails"));
+        assertEquals(List.of(List.of(0, 2), List.of(1)), exchange.getProperty("coalescedLines"));
+        assertEquals(1, exchange.getProperty("coalescedEntries"));
+    }
+
+    @Test
+    void doesNotChangeTheOriginalEntries() {
+        Map<String, Object> first = entry("A", 1, 2);
+        Exchange exchange = exchangeWith(List.of(first, entry("A", 4, 1)));
+
+        bean.coalesce(exchange);
+
+        assertEquals(Map.of("soldOut", 1, "damaged", 2), first.get("stockDetails"));
+    }
+
+    @Test
+    void invalidEntriesAreNotMerged() {
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 0), entry("A", -1, 0), entry("A", 2, 0)));
+
+        bean.coalesce(exchange);
+
+        List<Map<String, Object>> coalesced = exchange.getProperty("inventoryList", List.class);
+        assertEquals(2, coalesced.size());
+        assertEquals(Map.of("soldOut", 3, "damaged", 0), coalesced.get(0).get("stockDetails"));
+        assertEquals(Map.of("soldOut", -1, "damaged", 0), coalesced.get(1).get("stockDetails"));
+        assertEquals(List.of(List.of(0, 2), List.of(1)), exchange.getProperty("coalescedLines"));
+    }
+
+    @Test
+    void mergedStockIsCappedToIntRange() {
+        Exchange exchange = exchangeWith(List.of(entry("A", Integer.MAX_VALUE, 0), entry("A", 1, 0)));
+
+        bean.coalesce(exchange);
+
+        List<Map<String, Object>> coalesced = exchange.getProperty("inventoryList", List.class);
+        assertEquals(Map.of("soldOut", Integer.MAX_VALUE, "damaged", 0), coalesced.get(0).get("stockDetails"));
+    }
+
+    @Test
+    void expandPutsResultsBackInPayloadOrder() {
+        List<ItemResult> results = List.of(
+                new ItemResult("A", "success", "Inventory updated successfully for item A"),
+                new ItemResult("B", "error", "Item not found for ID: B"));
+
+        List<ItemResult> expanded = InventoryCoalescingBean.expand(results, List.of(List.of(0, 2), List.of(1)));
+
+        assertEquals(List.of("A", "B", "A"), itemIds(expanded));
+        assertEquals(List.of("success", "error", "success"), statuses(expanded));
+    }
+
+    @Test
+    void expandResultsReplacesItemResults() {
+        Exchange exchange = exchangeWith(List.of(entry("A", 1, 0), entry("B", 1, 0), entry("A", 1, 0)));
+        bean.coalesce(exchange);
+        exchange.setProperty("itemResults", new ArrayList<>(List.of(
+                new ItemResult("A", "success", "ok"), new ItemResult("B", "success", "ok"))));
+
+        bean.expandResults(exchange);
+
+        assertEquals(List.of("A", "B", "A"), itemIds(exchange.getProperty("itemResults", List.class)));
+    }
+
+    private static Exchange exchangeWith(List<Map<String, Object>> entries) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.setProperty("inventoryList", entries);
+        return exchange;
+    }
+
+    private static Map<String, Object> entry(String itemId, int soldOut, int damaged) {
+        Map<String, Object> stockDetails = new LinkedHashMap<>();
+        stockDetails.put("soldOut", soldOut);
+        stockDetails.put("damaged", damaged);
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("_id", itemId);
+        entry.put("stockDetails", stockDetails);
+        return entry;
+    }
+
+    private static List<String> itemIds(List<ItemResult> results) {
+        List<String> itemIds = new ArrayList<>();
+        results.forEach(result -> itemIds.add(result.getItemId()));
+        return itemIds;
+    }
+
+    private static List<String> statuses(List<ItemResult> results) {
+        List<String> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.getStatus()));
+        return statuses;
+    }
+}
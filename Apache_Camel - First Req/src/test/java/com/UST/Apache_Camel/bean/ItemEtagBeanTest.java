@@ -0,0 +1,94 @@
+package com.UST.Apache_Camel.bean;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ItemEtagBeanTest {
+
+    private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+
+    @Test
+    void matchesExactEtag() {
+        assertTrue(ItemEtagBean.matches(ETAG, ETAG));
+    }
+
+    @Test
+    void matchesWeakEtagInList() {
+        assertTrue(ItemEtagBean.matches("\"other\", W/" + ETAG, ETAG));
+    }
+
+    @Test
+    void matchesWildcard() {
+        assertTrue(ItemEtagBean.matches("*", ETAG));
+    }
+
+    @Test
+    void doesNotMatchOtherOrMissingEtag() {
+        assertFalse(ItemEtagBean.matches("\"other\"", ETAG));
+        assertFalse(ItemEtagBean.matches(null, ETAG));
+        assertFalse(ItemEtagBean.matches(ETAG, null));
+    }
+
+    @Test
+    void etagChangesWithAvailableStock() {
+        Document itemDoc = new Document("_id", "item-1")
+                .append("lastUpdateDate", "2024-01-01 10:00:00")
+                .append("stockDetails", new Document("availableStock", 5));
+        String etag = ItemEtagBean.computeEtag(itemDoc, "Lighting", "Home");
+
+        assertEquals(etag, ItemEtagBean.computeEtag(itemDoc, "Lighting", "Home"));
+        itemDoc.get("stockDetails", Document.class).put("availableStock", 4);
+        assertNotEquals(etag, ItemEtagBean.computeEtag(itemDoc, "Lighting", "Home"));
+    }
+
+    @Test
+    void reactiveModeSkipsTheBlockingLookup() {
+        ReadMongoClient readMongoClient = mock(ReadMongoClient.class);
+        ItemEtagBean bean = new ItemEtagBean(readMongoClient, mock(CategoryCache.class), true);
+        Exchange exchange = conditionalGet(ETAG);
+
+        bean.checkNotModified(exchange);
+
+        assertNull(exchange.getProperty("itemNotModified"));
+        assertEquals("item-1", exchange.getIn().getBody());
+    }
+
+    @Test
+    void loadedResponseWithMatchingEtagBecomesNotModified() {
+        ItemEtagBean bean = new ItemEtagBean(mock(ReadMongoClient.class), mock(CategoryCache.class), true);
+        Exchange exchange = conditionalGet(ETAG);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.getIn().setHeader(ItemEtagBean.HEADER_ETAG, ETAG);
+
+        bean.checkLoadedNotModified(exchange);
+
+        assertEquals(304, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertNull(exchange.getIn().getBody());
+
+        Exchange changed = conditionalGet("\"other\"");
+        changed.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        changed.getIn().setHeader(ItemEtagBean.HEADER_ETAG, ETAG);
+        bean.checkLoadedNotModified(changed);
+        assertEquals(200, changed.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+    }
+
+    private static Exchange conditionalGet(String ifNoneMatch) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader("itemId", "item-1");
+        exchange.getIn().setHeader(ItemEtagBean.HEADER_IF_NONE_MATCH, ifNoneMatch);
+        exchange.getIn().setBody("item-1");
+        return exchange;
+    }
+}
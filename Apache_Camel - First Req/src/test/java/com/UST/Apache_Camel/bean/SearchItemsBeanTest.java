@@ -0,0 +1,79 @@
+package com.UST.Apache_Camel.bean;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchItemsBeanTest {
+
+    private final SearchItemsBean bean = new SearchItemsBean();
+
+    @Test
+    void specialProductsAreExcludedByDefault() {
+        Exchange exchange = searchExchange("  Desk   LAMP ");
+
+        bean.buildSearchPipeline(exchange);
+
+        Document match = firstMatch(exchange);
+        assertEquals("desk lamp", match.get("$text", Document.class).getString("$search"));
+        assertEquals(false, match.get("specialProduct"));
+        assertEquals(false, exchange.getProperty("searchIncludeSpecial"));
+    }
+
+    @Test
+    void includeSpecialDropsTheSpecialProductFilter() {
+        Exchange exchange = searchExchange("lamp");
+        exchange.getIn().setHeader("includeSpecial", "true");
+
+        bean.buildSearchPipeline(exchange);
+
+        assertFalse(firstMatch(exchange).containsKey("specialProduct"));
+        assertEquals(true, exchange.getProperty("searchIncludeSpecial"));
+    }
+
+    @Test
+    void resumesAfterScoreAndId() {
+        Exchange exchange = searchExchange("lamp");
+        exchange.getIn().setHeader("after", GetItemsByCategoryBean.encodePageToken(
+                new Document("score", 1.5).append("id", "item-10").toJson()));
+
+        bean.buildSearchPipeline(exchange);
+
+        List<Document> pipeline = exchange.getIn().getBody(List.class);
+        assertEquals(new Document("$match", new Document("$or", List.of(
+                new Document("score", new Document("$lt", 1.5)),
+                new Document("score", 1.5).append("_id", new Document("$gt", "item-10"))))), pipeline.get(2));
+    }
+
+    @Test
+    void invalidPageTokenIsRejected() {
+        Exchange exchange = searchExchange("lamp");
+        exchange.getIn().setHeader("after", GetItemsByCategoryBean.encodePageToken("item-10"));
+
+        bean.buildSearchPipeline(exchange);
+
+        assertTrue(exchange.getProperty("searchRejected", false, Boolean.class));
+        assertEquals(400, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals(Map.of("message", "Invalid page token"), exchange.getIn().getBody());
+    }
+
+    private static Exchange searchExchange(String query) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader("q", query);
+        return exchange;
+    }
+
+    private static Document firstMatch(Exchange exchange) {
+        List<Document> pipeline = exchange.getIn().getBody(List.class);
+        return pipeline.get(0).get("$match", Document.class);
+    }
+}
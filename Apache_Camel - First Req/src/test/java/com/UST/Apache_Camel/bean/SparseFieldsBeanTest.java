@@ -0,0 +1,75 @@
+package com.UST.Apache_Camel.bean;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseFieldsBeanTest {
+
+    private final SparseFieldsBean bean = new SparseFieldsBean();
+
+    @Test
+    void knownFieldsAreTrimmedAndDeduplicated() {
+        Exchange exchange = exchangeWithFields(" itemName, itemPrice ,,itemName");
+
+        bean.parseItemFields(exchange);
+
+        assertEquals(Set.of("itemName", "itemPrice"), exchange.getProperty("sparseFields"));
+        assertNull(exchange.getProperty("fieldsRejected"));
+    }
+
+    @Test
+    void missingFieldsParamKeepsTheFullResponse() {
+        Exchange exchange = exchangeWithFields(" ");
+
+        bean.parseItemFields(exchange);
+
+        assertNull(exchange.getProperty("sparseFields"));
+        assertNull(exchange.getProperty("fieldsRejected"));
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        Exchange exchange = exchangeWithFields("itemName,reviews");
+
+        bean.parseItemFields(exchange);
+
+        assertTrue(exchange.getProperty("fieldsRejected", false, Boolean.class));
+        assertEquals(400, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertNull(exchange.getProperty("sparseFields"));
+    }
+
+    @Test
+    void fieldsAreCheckedAgainstTheCategoryListing() {
+        Exchange categoryExchange = exchangeWithFields("categoryId");
+        Exchange itemExchange = exchangeWithFields("categoryId");
+
+        bean.parseCategoryItemFields(categoryExchange);
+        bean.parseItemFields(itemExchange);
+
+        assertEquals(Set.of("categoryId"), categoryExchange.getProperty("sparseFields"));
+        assertTrue(itemExchange.getProperty("fieldsRejected", false, Boolean.class));
+    }
+
+    @Test
+    void onlySeparatorsAreRejected() {
+        Exchange exchange = exchangeWithFields(",,");
+
+        bean.parseItemFields(exchange);
+
+        assertTrue(exchange.getProperty("fieldsRejected", false, Boolean.class));
+    }
+
+    private static Exchange exchangeWithFields(String fields) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader("fields", fields);
+        return exchange;
+    }
+}
@@ -0,0 +1,75 @@
+package com.UST.Apache_Camel.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 60_000);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void expiredEntryIsAMiss() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 1);
+        cache.put("a", "A");
+        Thread.sleep(20);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void putAfterInvalidateIsRejected() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+
+        assertFalse(cache.put("a", "stale", stamp));
+        assertNull(cache.get("a"));
+        assertTrue(cache.put("a", "fresh", cache.stamp()));
+        assertEquals("fresh", cache.get("a"));
+        assertEquals(1L, cache.stats().get("stalePuts"));
+    }
+
+    @Test
+    void groupInvalidationOnlyRejectsItsGroup() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.put("item:1:full", "old");
+        long stamp = cache.stamp();
+        cache.invalidateIf(key -> key.startsWith("item:1:"), List.of("item:1:"));
+
+        assertNull(cache.get("item:1:full"));
+        assertFalse(cache.put("item:1:full", "stale", "item:1:", stamp));
+        assertTrue(cache.put("item:2:full", "fresh", "item:2:", stamp));
+    }
+
+    @Test
+    void invalidateAllRejectsEveryEarlierStamp() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.put("a", "A");
+        long stamp = cache.stamp();
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertFalse(cache.put("b", "B", stamp));
+    }
+}
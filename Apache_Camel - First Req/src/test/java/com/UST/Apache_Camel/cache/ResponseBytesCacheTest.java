@@ -0,0 +1,43 @@
+package com.UST.Apache_Camel.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseBytesCacheTest {
+
+    private final ResponseBytesCache cache = new ResponseBytesCache(new ObjectMapper(), true, 10, 60, 1024);
+
+    @Test
+    void plainTextErrorBodyIsNotRendered() throws Exception {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 500);
+        exchange.getIn().setBody("Error fetching item: Timed out");
+
+        cache.render(exchange);
+
+        assertEquals("Error fetching item: Timed out", exchange.getIn().getBody());
+        assertNull(exchange.getIn().getHeader(Exchange.CONTENT_TYPE));
+    }
+
+    @Test
+    void responseIsRenderedAsJson() throws Exception {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+        exchange.getIn().setBody(Map.of("message", "Item not found"));
+
+        cache.render(exchange);
+
+        assertEquals("{\"message\":\"Item not found\"}",
+                new String(exchange.getIn().getBody(byte[].class), StandardCharsets.UTF_8));
+        assertEquals(ResponseBytesCache.CONTENT_TYPE_JSON, exchange.getIn().getHeader(Exchange.CONTENT_TYPE));
+    }
+}
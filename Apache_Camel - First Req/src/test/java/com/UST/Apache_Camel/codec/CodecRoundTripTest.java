@@ -0,0 +1,105 @@
+package com.UST.Apache_Camel.codec;
+
+import com.UST.Apache_Camel.model.ItemPrice;
+import com.UST.Apache_Camel.model.ItemResponseCat;
+import com.UST.Apache_Camel.model.StockDetails;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodecRoundTripTest {
+
+    private final ItemPriceCodec itemPriceCodec = new ItemPriceCodec();
+    private final StockDetailsCodec stockDetailsCodec = new StockDetailsCodec();
+    private final ItemResponseCatCodec itemResponseCatCodec = new ItemResponseCatCodec(itemPriceCodec, stockDetailsCodec);
+
+    @Test
+    void itemResponseCatRoundTrip() {
+        ItemPrice itemPrice = new ItemPrice();
+        itemPrice.setBasePrice(new BigDecimal("12.50"));
+        itemPrice.setSellingPrice(new BigDecimal("9.99"));
+        StockDetails stockDetails = new StockDetails();
+        stockDetails.setAvailableStock(7);
+        stockDetails.setUnitOfMeasure("pcs");
+        ItemResponseCat item = new ItemResponseCat("item-1", "Lamp", "cat-1", itemPrice, stockDetails, true);
+
+        ItemResponseCat decoded = decode(itemResponseCatCodec, encode(itemResponseCatCodec, item));
+
+        assertEquals("item-1", decoded.getId());
+        assertEquals("Lamp", decoded.getItemName());
+        assertEquals("cat-1", decoded.getCategoryId());
+        assertEquals(new BigDecimal("12.50"), decoded.getItemPrice().getBasePrice());
+        assertEquals(new BigDecimal("9.99"), decoded.getItemPrice().getSellingPrice());
+        assertEquals(7, decoded.getStockDetails().getAvailableStock());
+        assertEquals("pcs", decoded.getStockDetails().getUnitOfMeasure());
+        assertTrue(decoded.isSpecialProduct());
+    }
+
+    @Test
+    void listingDecodeSkipsFieldsItDoesNotReturn() {
+        BsonDocument itemDoc = new BsonDocument("_id", new BsonString("item-1"))
+                .append("review", new BsonArray())
+                .append("itemPrice", new BsonDocument("sellingPrice", new BsonInt32(10)))
+                .append("specialProduct", new BsonBoolean(false));
+
+        ItemResponseCat decoded = decode(itemResponseCatCodec, itemDoc);
+
+        assertEquals("item-1", decoded.getId());
+        assertEquals(0, new BigDecimal("10").compareTo(decoded.getItemPrice().getSellingPrice()));
+        assertNull(decoded.getStockDetails());
+    }
+
+    @Test
+    void nonNumericOrNonFinitePriceDecodesToNull() {
+        BsonDocument priceDoc = new BsonDocument("basePrice", new BsonString("n/a"))
+                .append("sellingPrice", new BsonDouble(Double.NaN));
+
+        ItemPrice decoded = decode(itemPriceCodec, priceDoc);
+
+        assertNull(decoded.getBasePrice());
+        assertNull(decoded.getSellingPrice());
+    }
+
+    @Test
+    void numericStringPriceIsParsed() {
+        ItemPrice decoded = decode(itemPriceCodec, new BsonDocument("sellingPrice", new BsonString(" 4.25 ")));
+
+        assertEquals(new BigDecimal("4.25"), decoded.getSellingPrice());
+    }
+
+    @Test
+    void stockDetailsRoundTrip() {
+        StockDetails stockDetails = new StockDetails();
+        stockDetails.setAvailableStock(3_000_000_000L);
+
+        StockDetails decoded = decode(stockDetailsCodec, encode(stockDetailsCodec, stockDetails));
+
+        assertEquals(3_000_000_000L, decoded.getAvailableStock());
+        assertNull(decoded.getUnitOfMeasure());
+    }
+
+    private static <T> BsonDocument encode(Codec<T> codec, T value) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static <T> T decode(Codec<T> codec, BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
@@ -0,0 +1,64 @@
+package com.UST.Apache_Camel.processors;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateKeyPredicateTest {
+
+    private final DuplicateKeyPredicate predicate = new DuplicateKeyPredicate();
+
+    @Test
+    void matchesDuplicateKeyError() {
+        assertTrue(predicate.matches(caught(new MongoException(11000, "E11000 duplicate key error"))));
+    }
+
+    @Test
+    void matchesWrappedDuplicateKeyError() {
+        Exchange exchange = caught(new CamelExecutionException("insert failed", null,
+                new MongoException(11000, "E11000 duplicate key error")));
+
+        assertTrue(predicate.matches(exchange));
+    }
+
+    @Test
+    void matchesDuplicateKeyWriteErrorOfBulkWrite() {
+        assertTrue(predicate.matches(caught(bulkWriteException(121, 11000))));
+    }
+
+    @Test
+    void doesNotMatchOtherErrors() {
+        assertFalse(predicate.matches(caught(new MongoException(121, "Document failed validation"))));
+        assertFalse(predicate.matches(caught(bulkWriteException(121))));
+        assertFalse(predicate.matches(caught(new IllegalStateException("boom"))));
+        assertFalse(predicate.matches(new DefaultExchange(new DefaultCamelContext())));
+    }
+
+    private static Exchange caught(Throwable exception) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exception);
+        return exchange;
+    }
+
+    private static MongoBulkWriteException bulkWriteException(int... codes) {
+        List<BulkWriteError> writeErrors = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            writeErrors.add(new BulkWriteError(codes[i], "write error", new BsonDocument(), i));
+        }
+        return new MongoBulkWriteException(BulkWriteResult.unacknowledged(), writeErrors, null, new ServerAddress());
+    }
+}
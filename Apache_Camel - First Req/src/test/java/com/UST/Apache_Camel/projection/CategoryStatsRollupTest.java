@@ -0,0 +1,72 @@
+package com.UST.Apache_Camel.projection;
+
+import com.UST.Apache_Camel.cache.CategoryCache;
+import com.UST.Apache_Camel.config.ApplicationConstants;
+import com.UST.Apache_Camel.config.ReadMongoClient;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryStatsRollupTest {
+
+    private MongoCollection<Document> statsCollection;
+    private CategoryStatsRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        MongoClient mongoClient = mock(MongoClient.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        statsCollection = mock(MongoCollection.class);
+        when(mongoClient.getDatabase(ApplicationConstants.MONGO_DATABASE)).thenReturn(database);
+        when(database.getCollection(ApplicationConstants.MONGO_CATEGORY_STATS_COLLECTION)).thenReturn(statsCollection);
+        rollup = new CategoryStatsRollup(mongoClient, mock(ReadMongoClient.class), mock(CategoryCache.class));
+    }
+
+    @Test
+    void deltaAlreadyCountedByTheRecomputeIsSkipped() {
+        when(statsCollection.updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class))).thenThrow(
+                new MongoWriteException(new WriteError(ApplicationConstants.MONGO_DUPLICATE_KEY_ERROR,
+                        "E11000 duplicate key error", new BsonDocument()), new ServerAddress()));
+
+        rollup.applyStockChanges(List.of(new Document("_id", "A").append("categoryId", "cat-1")), Map.of("A", -2));
+
+        Map<String, Object> stats = rollup.stats();
+        assertEquals(0L, stats.get("appliedDeltas"));
+        assertEquals(1L, stats.get("skippedDeltas"));
+        assertEquals(0L, stats.get("failedDeltas"));
+    }
+
+    @Test
+    void rebaseAddsWhatTheRollupGainedSinceItsBaseline() {
+        Date recomputeStart = new Date();
+        List<Document> update = CategoryStatsRollup.rebaseOnto(new Document("itemCount", 4L), recomputeStart);
+
+        Document set = update.get(0).get("$set", Document.class);
+        assertEquals(new Document("$add", List.of(new Document("$literal", 4L),
+                        new Document("$subtract", List.of(
+                                new Document("$ifNull", List.of("$itemCount", 0)),
+                                new Document("$ifNull", List.of("$baseline.itemCount", 0)))))),
+                set.get("itemCount"));
+        assertEquals(new Document("$literal", 0), set.get("stockValue", Document.class).getList("$add", Object.class).get(0));
+        assertEquals(recomputeStart, set.get("recomputedAt"));
+        assertEquals(new Document("$unset", "baseline"), update.get(1));
+    }
+}
@@ -73,6 +73,7 @@ public class AsyncInventoryUpdateProcessor {
         auditRecord.put("correlationId", correlationId);
         auditRecord.put("timestamp", LocalDateTime.now().toString());
         auditRecord.put("itemCount", itemCount != null ? itemCount : 0);
+        auditRecord.put("coalescedEntries", exchange.getProperty("coalescedEntries", 0));
 
         if (exception != null) {
             auditRecord.put("status", "error");
@@ -0,0 +1,139 @@
+package com.UST.Apache_Camel.processors;
+
+import com.UST.Apache_Camel.model.ItemResult;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges queued inventory entries that share an _id, summing soldOut and
+ * damaged, so the parallel split no longer reads and saves the same item
+ * concurrently. Entries that would fail ItemProcessor validation pass through
+ * unchanged. coalescedLines keeps the original line numbers of every entry so
+ * expandResults can give each queued line its own audit result, in queue
+ * message order.
+ */
+public class InventoryCoalescingProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryCoalescingProcessor.class);
+
+    public void coalesce(Exchange exchange) {
+        List<?> entries = exchange.getProperty("inventoryList", List.class);
+
+        List<Object> coalesced = new ArrayList<>(entries.size());
+        List<List<Integer>> coalescedLines = new ArrayList<>(entries.size());
+        Map<String, Integer> positionById = new HashMap<>();
+        for (int line = 0; line < entries.size(); line++) {
+            Object entry = entries.get(line);
+            String itemId = mergeableId(entry);
+            Integer position = itemId != null ? positionById.get(itemId) : null;
+            if (position == null) {
+                if (itemId != null) {
+                    Map<String, Object> merged = new LinkedHashMap<>((Map<String, Object>) entry);
+                    merged.put("stockDetails", new LinkedHashMap<>(stockDetails(entry)));
+                    entry = merged;
+                    positionById.put(itemId, coalesced.size());
+                }
+                coalesced.add(entry);
+                coalescedLines.add(new ArrayList<>(List.of(line)));
+                continue;
+            }
+            Map<String, Object> stock = stockDetails(entry);
+            Map<String, Object> merged = (Map<String, Object>) coalesced.get(position);
+            Map<String, Object> mergedStock = (Map<String, Object>) merged.get("stockDetails");
+            long soldOut = (long) (Integer) mergedStock.get("soldOut") + (Integer) stock.get("soldOut");
+            long damaged = (long) (Integer) mergedStock.get("damaged") + (Integer) stock.get("damaged");
+            if (soldOut + damaged > Integer.MAX_VALUE) {
+                // Exceeds any availableStock, kept in int range so the update reports it as such
+                soldOut = Integer.MAX_VALUE;
+                damaged = 0;
+            }
+            mergedStock.put("soldOut", (int) soldOut);
+            mergedStock.put("damaged", (int) damaged);
+            coalescedLines.get(position).add(line);
+        }
+
+        int coalescedEntries = entries.size() - coalesced.size();
+        exchange.setProperty("inventoryList", coalesced);
+        exchange.setProperty("coalescedLines", coalescedLines);
+        exchange.setProperty("coalescedEntries", coalescedEntries);
+        if (coalescedEntries > 0) {
+            logger.info("Coalesced {} inventory entries into {} updates", entries.size(), coalesced.size());
+        }
+    }
+
+    /**
+     * The parallel split aggregates results in completion order, so each
+     * result is placed by the split index ItemAggregationStrategy recorded
+     * with it, then copied onto every original line of its entry.
+     */
+    public void expandResults(Exchange exchange) {
+        List<List<Integer>> coalescedLines = exchange.getProperty("coalescedLines", List.class);
+        List<ItemResult> itemResults = exchange.getProperty("itemResults", List.class);
+        List<Integer> splitIndexes = exchange.getProperty("itemResultIndexes", List.class);
+        if (coalescedLines == null || itemResults == null || splitIndexes == null) {
+            return;
+        }
+        exchange.setProperty("itemResults", expand(itemResults, splitIndexes, coalescedLines));
+    }
+
+    static List<ItemResult> expand(List<ItemResult> itemResults, List<Integer> splitIndexes,
+                                   List<List<Integer>> coalescedLines) {
+        int lineCount = 0;
+        for (List<Integer> lines : coalescedLines) {
+            lineCount += lines.size();
+        }
+        ItemResult[] byLine = new ItemResult[lineCount];
+        for (int i = 0; i < itemResults.size() && i < splitIndexes.size(); i++) {
+            Integer position = splitIndexes.get(i);
+            if (position == null || position >= coalescedLines.size()) {
+                continue;
+            }
+            ItemResult result = itemResults.get(i);
+            List<Integer> lines = coalescedLines.get(position);
+            for (int copy = 0; copy < lines.size(); copy++) {
+                byLine[lines.get(copy)] = copy == 0 ? result
+                        : new ItemResult(result.getItemId(), result.getStatus(), result.getMessage());
+            }
+        }
+
+        List<ItemResult> expanded = new ArrayList<>(lineCount);
+        for (ItemResult result : byLine) {
+            if (result != null) {
+                expanded.add(result);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * The _id of an entry with non-negative integer soldOut and damaged, or
+     * null when ItemProcessor would reject it.
+     */
+    private static String mergeableId(Object entry) {
+        if (!(entry instanceof Map) || ((Map<?, ?>) entry).get("_id") == null) {
+            return null;
+        }
+        Map<String, Object> stock = stockDetails(entry);
+        if (stock == null) {
+            return null;
+        }
+        Object soldOut = stock.get("soldOut");
+        Object damaged = stock.get("damaged");
+        if (!(soldOut instanceof Integer) || !(damaged instanceof Integer)
+                || (Integer) soldOut < 0 || (Integer) damaged < 0) {
+            return null;
+        }
+        return ((Map<?, ?>) entry).get("_id").toString();
+    }
+
+    private static Map<String, Object> stockDetails(Object entry) {
+        Object stock = ((Map<?, ?>) entry).get("stockDetails");
+        return stock instanceof Map ? (Map<String, Object>) stock : null;
+    }
+}
@@ -20,10 +20,17 @@ public class ItemAggregationStrategy implements AggregationStrategy {
             return oldExchange != null ? oldExchange : newExchange;
         }
 
+        // Parallel processing completes out of order; the split index lets
+        // InventoryCoalescingProcessor restore the queue message order
+        Integer splitIndex = newExchange.getProperty(Exchange.SPLIT_INDEX, Integer.class);
+
         if (oldExchange == null) {
             List<ItemResult> results = new ArrayList<>();
             results.add(itemResult);
+            List<Integer> indexes = new ArrayList<>();
+            indexes.add(splitIndex);
             newExchange.setProperty("itemResults", results);
+            newExchange.setProperty("itemResultIndexes", indexes);
             logger.debug("Initialized itemResults with itemId: {}", itemResult.getItemId());
             return newExchange;
         }
@@ -31,6 +38,8 @@ public class ItemAggregationStrategy implements AggregationStrategy {
         List<ItemResult> results = oldExchange.getProperty("itemResults", List.class);
         results.add(itemResult);
         oldExchange.setProperty("itemResults", results);
+        List<Integer> indexes = oldExchange.getProperty("itemResultIndexes", List.class);
+        indexes.add(splitIndex);
         logger.debug("Added itemResult for itemId: {} to itemResults, total: {}", itemResult.getItemId(), results.size());
         return oldExchange;
     }
@@ -41,6 +41,7 @@ public class InventoryQueueRoute extends RouteBuilder {
                 .end()
                 .log("Processing inventory update list, correlationId: ${header.JMSCorrelationID}")
                 .process(new InventoryListValidationProcessor())
+                .bean(InventoryCoalescingProcessor.class, "coalesce")
                 .split(simple("${exchangeProperty.inventoryList}"), new ItemAggregationStrategy())
                 .streaming()
                 .parallelProcessing()
@@ -59,6 +60,7 @@ public class InventoryQueueRoute extends RouteBuilder {
                 .end()
                 .log("Completed processing item ${exchangeProperty.itemId}")
                 .end()
+                .bean(InventoryCoalescingProcessor.class, "expandResults")
                 .bean(AsyncInventoryUpdateProcessor.class, "storeSummaryAuditRecord")
                 .to(String.format(ApplicationConstants.MONGO_INVENTORY_AUDIT_INSERT,
                     ApplicationConstants.MONGO_DATABASE, ApplicationConstants.MONGO_INVENTORY_AUDIT_WRITE_COLLECTION))